@@ -0,0 +1,38 @@
+package com.foodrating.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Caffeine caches for the hot catalog reads; sizes and TTL are set by spring.cache.caffeine.spec
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // canteen id -> CanteenMenu
+    public static final String CANTEENS = "canteens";
+
+    // canteen id -> List<DishView>
+    public static final String MENUS = "menus";
+
+    // dish id -> DishView
+    public static final String DISHES = "dishes";
+
+    // "canteens" / "categories" -> aggregate rows; expires after foodrating.stats.ttl instead of being evicted
+    public static final String STATS = "stats";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> statsCacheCustomizer(@Value("${foodrating.stats.ttl:30s}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(STATS, Caffeine.newBuilder()
+                .maximumSize(16)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,31 @@
+package com.foodrating.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+// The database behind the DataSource, read once at startup. PostgreSQL-only features (full-text
+// search, advisory locks, the query plan check) are skipped on anything else, such as H2 in tests.
+@Component
+public class DatabaseProduct {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private boolean postgres;
+
+    @PostConstruct
+    void detect() throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        postgres = "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+}
@@ -0,0 +1,30 @@
+package com.foodrating.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// Per-query execution timings (hibernate.query, tagged by query) on top of the session-wide
+// hibernate.* meters Spring Boot registers when statistics are enabled
+@Configuration
+@Profile("prod")
+public class HibernateMetricsConfig {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void registerQueryMetrics() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        HibernateQueryMetrics.monitor(meterRegistry, sessionFactory, "entityManagerFactory", Tags.empty());
+    }
+}
@@ -0,0 +1,45 @@
+package com.foodrating.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+// Sizes the connection pool from the core count, (2 x cores) + 1, unless
+// spring.datasource.hikari.maximum-pool-size is set. The pool is fixed-size (minimum-idle = max):
+// connections are cheap to hold and expensive to open under load.
+@Component
+@Profile("prod")
+public class HikariPoolSizer implements BeanPostProcessor, EnvironmentAware {
+
+    private static final Logger log = LoggerFactory.getLogger(HikariPoolSizer.class);
+
+    private static final String POOL_SIZE_PROPERTY = "spring.datasource.hikari.maximum-pool-size";
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    // Runs after the spring.datasource.hikari.* binding; the pool itself only starts on first use
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource && !environment.containsProperty(POOL_SIZE_PROPERTY)) {
+            int poolSize = poolSizeFor(Runtime.getRuntime().availableProcessors());
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setMinimumIdle(poolSize);
+            log.info("Connection pool sized to {} connections", poolSize);
+        }
+        return bean;
+    }
+
+    static int poolSizeFor(int cores) {
+        return cores * 2 + 1;
+    }
+}
@@ -0,0 +1,56 @@
+package com.foodrating.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntUnaryOperator;
+
+// Semaphore whose permit count follows the connection pool size, for filters that bound how much
+// work may wait on a connection. Sized on first use, once HikariPoolSizer (prod) has settled the pool size.
+class PoolSizedSemaphore {
+
+    private static final Logger log = LoggerFactory.getLogger(PoolSizedSemaphore.class);
+
+    private final DataSource dataSource;
+    private final IntUnaryOperator permitsForPoolSize;
+    private final boolean fair;
+    private final String admits;
+
+    private volatile Semaphore semaphore;
+
+    // admits names what a permit stands for in the startup log, e.g. "API writes"
+    PoolSizedSemaphore(DataSource dataSource, IntUnaryOperator permitsForPoolSize, boolean fair, String admits) {
+        this.dataSource = dataSource;
+        this.permitsForPoolSize = permitsForPoolSize;
+        this.fair = fair;
+        this.admits = admits;
+    }
+
+    Semaphore get() {
+        Semaphore current = semaphore;
+        if (current == null) {
+            synchronized (this) {
+                if (semaphore == null) {
+                    int limit = Math.max(1, permitsForPoolSize.applyAsInt(poolSize()));
+                    semaphore = new Semaphore(limit, fair);
+                    log.info("Admitting at most {} concurrent {}", limit, admits);
+                }
+                current = semaphore;
+            }
+        }
+        return current;
+    }
+
+    private int poolSize() {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException e) {
+            // Not a Hikari pool; fall back to Hikari's default size
+            return 10;
+        }
+    }
+}
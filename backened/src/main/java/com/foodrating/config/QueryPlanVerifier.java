@@ -0,0 +1,95 @@
+package com.foodrating.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Startup check that the hot queries can be answered from an index. Each query is EXPLAINed with
+// sequential scans disabled, so a small table that PostgreSQL would rather scan still passes as
+// long as a usable index exists; a Seq Scan in the plan means the index is missing or unusable.
+// foodrating.schema.plan-check: warn (default) logs, fail aborts startup, off skips the check.
+@Component
+public class QueryPlanVerifier implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    private static final Map<String, String> HOT_QUERIES = new LinkedHashMap<>();
+
+    static {
+        HOT_QUERIES.put("dishes by canteen",
+                "SELECT * FROM dishes WHERE canteen_id = 1 AND id > 0 ORDER BY id LIMIT 21");
+        HOT_QUERIES.put("dishes by category",
+                "SELECT * FROM dishes WHERE category = 'Indian' AND id > 0 ORDER BY id LIMIT 21");
+        HOT_QUERIES.put("dishes by categories and price range",
+                "SELECT * FROM dishes WHERE category IN ('Indian', 'Chinese') AND price >= 0 AND price < 50");
+        HOT_QUERIES.put("dishes by minimum rating",
+                "SELECT * FROM dishes WHERE rating >= 4");
+        HOT_QUERIES.put("dishes by date",
+                "SELECT * FROM dishes WHERE available_date = CURRENT_DATE");
+        HOT_QUERIES.put("dish count per canteen",
+                "SELECT count(*) FROM dishes WHERE canteen_id = 1");
+        HOT_QUERIES.put("canteens by location",
+                "SELECT * FROM canteens WHERE location = 'Near SSN Admin Block' AND id > 0 ORDER BY id LIMIT 21");
+        HOT_QUERIES.put("rating by dish and user",
+                "SELECT * FROM ratings WHERE dish_id = 1 AND user_id = 'user'");
+        HOT_QUERIES.put("recent ratings",
+                "SELECT dish_id, score FROM ratings WHERE updated_at >= now() - interval '7 days'");
+        HOT_QUERIES.put("schedule rules of a dish",
+                "SELECT * FROM dish_schedules WHERE dish_id = 1");
+        HOT_QUERIES.put("dish search",
+                "SELECT id FROM dishes WHERE search_vector @@ websearch_to_tsquery('english', 'noodles')");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DatabaseProduct databaseProduct;
+
+    @Value("${foodrating.schema.plan-check:warn}")
+    private String mode;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if ("off".equalsIgnoreCase(mode) || !databaseProduct.isPostgres()) {
+            return;
+        }
+
+        List<String> sequentialScans = new ArrayList<>();
+        for (Map.Entry<String, String> query : HOT_QUERIES.entrySet()) {
+            String plan = explain(query.getValue());
+            if (plan.contains("\"Seq Scan\"")) {
+                sequentialScans.add(query.getKey());
+                log.warn("Query '{}' falls back to a sequential scan: {}", query.getKey(), plan);
+            }
+        }
+
+        if (sequentialScans.isEmpty()) {
+            log.info("All {} hot queries are served by index scans", HOT_QUERIES.size());
+        } else if ("fail".equalsIgnoreCase(mode)) {
+            throw new IllegalStateException("Hot queries without a usable index: " + sequentialScans);
+        }
+    }
+
+    private String explain(String sql) {
+        // SET LOCAL only lasts until the end of this transaction
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package com.foodrating.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Per-client token buckets on write endpoints, checked before any controller or connection is
+// touched. Over-limit clients get 429 with Retry-After. Independently, writes as a whole may hold
+// at most write-share of the connection pool, so a flood of writes cannot starve readers: a write
+// that finds no permit is turned away with 503 instead of queueing for a connection.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TokenBuckets clientBuckets;
+    private List<CompiledRule> rules;
+    private PoolSizedSemaphore writePermits;
+
+    @PostConstruct
+    void init() {
+        clientBuckets = new TokenBuckets(Runtime.getRuntime().availableProcessors() * 4, properties.maxClients());
+        rules = new ArrayList<>();
+        for (int i = 0; i < properties.rules().size(); i++) {
+            rules.add(new CompiledRule(i, properties.rules().get(i)));
+        }
+        writePermits = new PoolSizedSemaphore(dataSource, poolSize -> (int) (poolSize * properties.writeShare()),
+                                              false, "API writes");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled()
+                || READ_METHODS.contains(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        long now = System.nanoTime();
+        long wait = 0;
+        List<Grant> granted = new ArrayList<>();
+        for (CompiledRule rule : rules) {
+            if (rule.matches(request.getMethod(), path)) {
+                String client = clientOf(request, rule.clientKey == null ? properties.clientKey() : rule.clientKey);
+                String key = rule.index + "|" + client + (rule.perPath ? "|" + path.value() : "");
+                long ruleWait = clientBuckets.tryAcquire(key, rule.capacity, rule.intervalNanos, now);
+                if (ruleWait == 0) {
+                    granted.add(new Grant(key, rule.intervalNanos));
+                }
+                wait = Math.max(wait, ruleWait);
+            }
+        }
+        if (wait > 0) {
+            // A rejected request costs nothing: hand back the tokens the other rules granted
+            for (Grant grant : granted) {
+                clientBuckets.release(grant.key(), grant.intervalNanos());
+            }
+            log.debug("Rate limited {} {} for {}", request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait);
+            return;
+        }
+
+        Semaphore permits = writePermits.get();
+        if (!permits.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${foodrating.rate-limit.evict-interval-ms:60000}")
+    public void evictIdleClients() {
+        int evicted = clientBuckets.evictIdle(properties.idleTimeout().toNanos(), System.nanoTime());
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate-limit buckets, {} remain", evicted, clientBuckets.size());
+        }
+    }
+
+    private String clientOf(HttpServletRequest request, RateLimitProperties.ClientKey clientKey) {
+        if (clientKey == RateLimitProperties.ClientKey.HEADER) {
+            String id = request.getHeader(properties.clientHeader());
+            if (id != null && !id.isBlank()) {
+                return "u:" + id.trim();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitNanos) throws IOException {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(status == HttpStatus.TOO_MANY_REQUESTS
+                ? "Too many requests, retry in " + seconds + "s"
+                : "Server busy, retry shortly");
+    }
+
+    private record Grant(String key, long intervalNanos) {
+    }
+
+    private static final class CompiledRule {
+        final int index;
+        final Set<String> methods;
+        final PathPattern pattern;
+        final List<PathPattern> except;
+        final int capacity;
+        final long intervalNanos;
+        final boolean perPath;
+        final RateLimitProperties.ClientKey clientKey;
+
+        CompiledRule(int index, RateLimitProperties.Rule rule) {
+            this.index = index;
+            this.methods = rule.methods() == null ? Set.of()
+                    : rule.methods().stream().map(method -> method.trim().toUpperCase(Locale.ROOT)).collect(Collectors.toSet());
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.path());
+            this.except = rule.except() == null ? List.of()
+                    : rule.except().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            this.capacity = Math.max(1, rule.capacity());
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, rule.perMinute());
+            this.perPath = rule.perPath();
+            this.clientKey = rule.clientKey();
+        }
+
+        // No methods listed means every write method
+        boolean matches(String method, PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path)
+                    && except.stream().noneMatch(excluded -> excluded.matches(path));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.foodrating.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// foodrating.rate-limit.*: per-client token buckets for write endpoints. A request needs a token
+// from its client's bucket in every rule whose methods and path match it (and none of whose except
+// paths do); perPath gives each concrete path (e.g. each dish's ratings) its own bucket, and a rule's
+// clientKey overrides the default one for that rule.
+@ConfigurationProperties(prefix = "foodrating.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("ip") ClientKey clientKey,
+                                  @DefaultValue("X-User-Id") String clientHeader,
+                                  @DefaultValue("10m") Duration idleTimeout,
+                                  @DefaultValue("200000") int maxClients,
+                                  @DefaultValue("0.5") double writeShare,
+                                  List<Rule> rules) {
+
+    public enum ClientKey {
+        // Remote address of the connection
+        IP,
+        // clientHeader, falling back to the address; only safe behind a gateway that sets it
+        HEADER
+    }
+
+    public record Rule(List<String> methods, String path, List<String> except, int capacity, int perMinute,
+                       boolean perPath, ClientKey clientKey) {
+    }
+
+    public List<Rule> rules() {
+        return rules == null ? List.of() : rules;
+    }
+}
@@ -0,0 +1,104 @@
+package com.foodrating.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Times every call into the JdbcTemplate-backed @Repository classes under the meter Spring Data
+// already records for its own repositories (spring.data.repository.invocations, same tags), and
+// logs calls slower than foodrating.slow-query-ms. Slow Hibernate statements are logged by
+// Hibernate itself (hibernate.log_slow_query, logger org.hibernate.SQL_SLOW).
+@Configuration
+public class RepositoryMetricsConfig {
+
+    static final String INVOCATIONS = "spring.data.repository.invocations";
+
+    @Bean
+    static RepositoryTimingPostProcessor repositoryTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                       @Value("${foodrating.slow-query-ms:250}") long slowQueryMillis) {
+        return new RepositoryTimingPostProcessor(new RepositoryTimer(meterRegistry, TimeUnit.MILLISECONDS.toNanos(slowQueryMillis)));
+    }
+
+    static final class RepositoryTimingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+        RepositoryTimingPostProcessor(RepositoryTimer timer) {
+            // Spring Data repositories are timed by Spring Data
+            ClassFilter jdbcRepositories = clazz -> !org.springframework.data.repository.Repository.class.isAssignableFrom(clazz);
+            ComposablePointcut pointcut = new ComposablePointcut(new AnnotationClassFilter(Repository.class, true))
+                    .intersection(jdbcRepositories);
+            this.advisor = new DefaultPointcutAdvisor(pointcut, timer);
+            // Outermost, so the recorded exception is the translated DataAccessException
+            this.beforeExistingAdvisors = true;
+            setProxyTargetClass(true);
+        }
+    }
+
+    static final class RepositoryTimer implements MethodInterceptor {
+
+        private static final Logger log = LoggerFactory.getLogger(RepositoryTimer.class);
+
+        private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+        private final long slowNanos;
+        private volatile MeterRegistry meterRegistry;
+
+        RepositoryTimer(ObjectProvider<MeterRegistry> meterRegistryProvider, long slowNanos) {
+            this.meterRegistryProvider = meterRegistryProvider;
+            this.slowNanos = slowNanos;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            long start = System.nanoTime();
+            String state = "SUCCESS";
+            String exception = "None";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                state = "ERROR";
+                exception = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                String repository = ClassUtils.getUserClass(invocation.getMethod().getDeclaringClass()).getSimpleName();
+                String method = invocation.getMethod().getName();
+                MeterRegistry registry = registry();
+                if (registry != null) {
+                    Timer.builder(INVOCATIONS)
+                         .tags("repository", repository, "method", method, "state", state, "exception", exception)
+                         .register(registry)
+                         .record(elapsed, TimeUnit.NANOSECONDS);
+                }
+                if (elapsed >= slowNanos) {
+                    // Streaming methods include the time spent in their row callbacks
+                    log.warn("Slow repository call {}.{} took {} ms", repository, method, TimeUnit.NANOSECONDS.toMillis(elapsed));
+                }
+            }
+        }
+
+        // Resolved on first use: the post-processor is created before the registry exists
+        private MeterRegistry registry() {
+            MeterRegistry registry = meterRegistry;
+            if (registry == null) {
+                registry = meterRegistryProvider.getIfAvailable();
+                meterRegistry = registry;
+            }
+            return registry;
+        }
+    }
+}
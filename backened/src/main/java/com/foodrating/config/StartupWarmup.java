@@ -0,0 +1,168 @@
+package com.foodrating.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodrating.service.DishSimilarityIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Replays the hot read endpoints over loopback HTTP before the instance reports ready, so the first
+// real requests find Tomcat, Jackson, the Hibernate query plans, the caches and the in-memory indexes
+// loaded and the request path JIT-compiled. Spring Boot only sets readiness to ACCEPTING_TRAFFIC
+// after every ApplicationReadyEvent listener has returned. Listeners of equal order run in no defined
+// order, so the index loaders declare HIGHEST_PRECEDENCE and this one runs after them.
+// Read-only and best effort: failures are logged, never fatal. Enabled by foodrating.warmup.enabled.
+@Component
+@ConditionalOnProperty(name = "foodrating.warmup.enabled", havingValue = "true")
+public class StartupWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    @Autowired
+    private DishSimilarityIndex dishSimilarityIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${foodrating.warmup.rounds:300}")
+    private int rounds;
+
+    @Value("${foodrating.warmup.threads:4}")
+    private int threads;
+
+    @Value("${foodrating.warmup.max-duration:30s}")
+    private Duration maxDuration;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp(ApplicationReadyEvent event) {
+        // Mock-servlet tests have no server to call
+        if (!(event.getApplicationContext() instanceof WebServerApplicationContext context) || context.getWebServer() == null) {
+            return;
+        }
+        String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+
+        // Otherwise loaded on the first background tick, after traffic has started
+        dishSimilarityIndex.refresh();
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        List<List<String>> samples;
+        try {
+            samples = samples(client, baseUrl);
+        } catch (IOException e) {
+            log.warn("Warm-up skipped, could not list dishes: {}", e.getMessage());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        AtomicInteger nextRound = new AtomicInteger();
+        AtomicLong sent = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        try (ExecutorService workers = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                workers.submit(() -> {
+                    int round;
+                    while ((round = nextRound.getAndIncrement()) < rounds && System.nanoTime() < deadline) {
+                        for (String path : samples.get(round % samples.size())) {
+                            if (!send(client, baseUrl + path)) {
+                                failed.incrementAndGet();
+                            }
+                            sent.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (failed.get() > 0) {
+            log.warn("Warm-up: {} of {} requests failed", failed.get(), sent.get());
+        }
+        log.info("Warm-up: {} requests over {} rounds in {} ms", sent.get(), Math.min(nextRound.get(), rounds), millis);
+    }
+
+    // One request list per dish of the first page, so the per-key caches fill for more than one dish
+    private List<List<String>> samples(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/dishes?size=20")).timeout(REQUEST_TIMEOUT).GET().build();
+        HttpResponse<String> page = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (page.statusCode() != 200) {
+            throw new IOException("GET /api/dishes returned " + page.statusCode());
+        }
+
+        List<List<String>> samples = new ArrayList<>();
+        for (JsonNode dish : objectMapper.readTree(page.body()).path("items")) {
+            long dishId = dish.path("id").asLong();
+            long canteenId = dish.path("canteen").path("id").asLong();
+            String category = URLEncoder.encode(dish.path("category").asText(), StandardCharsets.UTF_8);
+            String term = URLEncoder.encode(dish.path("name").asText().split(" ")[0], StandardCharsets.UTF_8);
+            samples.add(List.of(
+                    "/api/canteens?size=20",
+                    "/api/canteens/" + canteenId,
+                    "/api/canteens/" + canteenId + "/menu",
+                    "/api/dishes?size=20&canteenId=" + canteenId,
+                    "/api/dishes/canteen/" + canteenId,
+                    "/api/dishes/" + dishId,
+                    "/api/dishes/" + dishId + "/ratings",
+                    "/api/dishes/" + dishId + "/similar",
+                    "/api/dishes/top?canteenId=" + canteenId + "&window=day",
+                    "/api/dishes/filter?category=" + category + "&maxPrice=100&minRating=3",
+                    "/api/search?q=" + term,
+                    "/api/stats"));
+        }
+        if (samples.isEmpty()) {
+            samples.add(List.of("/api/canteens?size=20", "/api/dishes?size=20", "/api/stats"));
+        }
+        return samples;
+    }
+
+    private boolean send(HttpClient client, String url) {
+        try {
+            // Clients ask for gzip, so the compression path gets compiled too
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Accept-Encoding", "gzip")
+                    .GET()
+                    .build();
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.foodrating.config;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory token buckets keyed by string, kept as GCRA: each bucket is a single "theoretical
+// arrival time" updated by compare-and-set, so acquiring never locks or allocates. Keys are spread
+// over independent stripes so hot clients and the idle sweep do not contend on one map.
+public final class TokenBuckets {
+
+    // Marks a bucket the sweep has claimed; an acquire that sees it starts over with a fresh bucket
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private static final VarHandle TAT;
+
+    static {
+        try {
+            TAT = MethodHandles.lookup().findVarHandle(Bucket.class, "tat", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ConcurrentHashMap<String, Bucket>[] stripes;
+    private final int maxKeysPerStripe;
+
+    @SuppressWarnings("unchecked")
+    public TokenBuckets(int stripeCount, int maxKeys) {
+        int count = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        stripes = new ConcurrentHashMap[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        maxKeysPerStripe = Math.max(1, maxKeys / count);
+    }
+
+    // Takes one token; returns 0 when granted, otherwise the nanoseconds until a token is available.
+    // A bucket holds capacity tokens and regains one every intervalNanos.
+    public long tryAcquire(String key, int capacity, long intervalNanos, long nowNanos) {
+        ConcurrentHashMap<String, Bucket> stripe = stripes[stripeOf(key)];
+        long tolerance = intervalNanos * capacity;
+        while (true) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                if (stripe.size() >= maxKeysPerStripe) {
+                    // Too many distinct clients to track: new ones wait rather than growing the heap
+                    return intervalNanos;
+                }
+                bucket = stripe.computeIfAbsent(key, k -> new Bucket(nowNanos));
+            }
+            long tat = bucket.tat;
+            if (tat == EVICTED) {
+                stripe.remove(key, bucket);
+                continue;
+            }
+            long next = Math.max(tat, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - tolerance;
+            if (excess > 0) {
+                return excess;
+            }
+            if (TAT.compareAndSet(bucket, tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Gives back a token taken by tryAcquire, e.g. when another limit turned the request away
+    public void release(String key, long intervalNanos) {
+        Bucket bucket = stripes[stripeOf(key)].get(key);
+        if (bucket == null) {
+            return;
+        }
+        while (true) {
+            long tat = bucket.tat;
+            if (tat == EVICTED || TAT.compareAndSet(bucket, tat, tat - intervalNanos)) {
+                return;
+            }
+        }
+    }
+
+    // Drops buckets that have been full for at least idleNanos; they are indistinguishable from new ones
+    public int evictIdle(long idleNanos, long nowNanos) {
+        int evicted = 0;
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            Iterator<Bucket> buckets = stripe.values().iterator();
+            while (buckets.hasNext()) {
+                Bucket bucket = buckets.next();
+                long tat = bucket.tat;
+                if (tat != EVICTED && nowNanos - tat >= idleNanos && TAT.compareAndSet(bucket, tat, EVICTED)) {
+                    buckets.remove();
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private int stripeOf(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private static final class Bucket {
+        // Time at which the bucket will be full again; accessed through TAT
+        volatile long tat;
+
+        Bucket(long tat) {
+            this.tat = tat;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.foodrating.controller;
+
+import com.foodrating.dto.ImportReport;
+import com.foodrating.service.BulkExportService;
+import com.foodrating.service.BulkFormat;
+import com.foodrating.service.BulkImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Bulk onboarding and export. Request and response bodies are streamed, never buffered whole;
+// imports answer with a per-row report, exports are written straight from a database cursor.
+@RestController
+@RequestMapping("/api/bulk")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:8081"})
+public class BulkController {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkController.class);
+
+    private static final String FORMATS = "format must be 'ndjson', 'csv', 'json', 'cbor' or 'smile'";
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private BulkExportService bulkExportService;
+
+    @PostMapping(value = "/canteens", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<?> importCanteens(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                            InputStream body) {
+        try {
+            ImportReport report = bulkImportService.importCanteens(body, BulkFormat.fromContentType(contentType));
+            return ResponseEntity.ok(report);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("Could not read request body: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Canteen import failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Import failed: " + e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/dishes", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<?> importDishes(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                          InputStream body) {
+        try {
+            ImportReport report = bulkImportService.importDishes(body, BulkFormat.fromContentType(contentType));
+            return ResponseEntity.ok(report);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("Could not read request body: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Dish import failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Import failed: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/canteens")
+    public ResponseEntity<?> exportCanteens(@RequestParam(defaultValue = "ndjson") String format) {
+        BulkFormat bulkFormat;
+        try {
+            bulkFormat = BulkFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(FORMATS);
+        }
+
+        StreamingResponseBody body = out -> bulkExportService.exportCanteens(out, bulkFormat);
+        return attachment("canteens", bulkFormat, body);
+    }
+
+    @GetMapping("/dishes")
+    public ResponseEntity<?> exportDishes(@RequestParam(defaultValue = "ndjson") String format,
+                                          @RequestParam(required = false) Long canteenId) {
+        BulkFormat bulkFormat;
+        try {
+            bulkFormat = BulkFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(FORMATS);
+        }
+
+        StreamingResponseBody body = out -> bulkExportService.exportDishes(out, bulkFormat, canteenId);
+        return attachment("dishes", bulkFormat, body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String name, BulkFormat format, StreamingResponseBody body) {
+        String fileName = name + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
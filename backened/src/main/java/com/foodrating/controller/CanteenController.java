@@ -1,14 +1,30 @@
 package com.foodrating.controller;
 
+import com.foodrating.dto.CanteenMenu;
+import com.foodrating.dto.CanteenView;
+import com.foodrating.dto.CursorPage;
+import com.foodrating.dto.DailyMenu;
 import com.foodrating.entity.Canteen;
+import com.foodrating.entity.MealSlot;
 import com.foodrating.repository.CanteenRepository;
+import com.foodrating.service.CatalogService;
+import com.foodrating.service.DailyMenuService;
+import com.foodrating.service.MenuChangeStream;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,21 +36,81 @@ public class CanteenController {
     @Autowired
     private CanteenRepository canteenRepository;
     
+    @Autowired
+    private CatalogService catalogService;
+    
+    @Autowired
+    private DailyMenuService dailyMenuService;
+    
+    @Autowired
+    private MenuChangeStream menuChangeStream;
+    
     @GetMapping
-    public ResponseEntity<List<Canteen>> getAllCanteens() {
+    public ResponseEntity<?> getAllCanteens(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "20") int size,
+                                            @RequestParam(defaultValue = "asc") String sort,
+                                            @RequestParam(required = false) String location) {
+        if (!"asc".equalsIgnoreCase(sort) && !"desc".equalsIgnoreCase(sort)) {
+            return ResponseEntity.badRequest().body("sort must be 'asc' or 'desc'");
+        }
+        
         try {
-            List<Canteen> canteens = canteenRepository.findAll();
-            return ResponseEntity.ok(canteens);
+            Long position = CursorPage.decode(cursor);
+            int limit = CursorPage.clampSize(size);
+            // Fetch one extra row to learn whether another page exists
+            PageRequest window = PageRequest.of(0, limit + 1);
+            
+            List<CanteenView> canteens = "desc".equalsIgnoreCase(sort)
+                    ? canteenRepository.findPageBefore(position == null ? Long.MAX_VALUE : position, location, window)
+                    : canteenRepository.findPageAfter(position == null ? 0L : position, location, window);
+            return ResponseEntity.ok(CursorPage.of(canteens, limit, CanteenView::id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Canteen> getCanteenById(@PathVariable Long id) {
-        Optional<Canteen> canteen = canteenRepository.findById(id);
-        return canteen.map(ResponseEntity::ok)
-                     .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<CanteenMenu> getCanteenById(@PathVariable Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<CanteenMenu> canteen = catalogService.findCanteen(id);
+        if (canteen.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        CanteenMenu menu = canteen.get();
+        String etag = EntityTags.of(menu);
+        if (EntityTags.noneMatchHit(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(menu);
+    }
+    
+    // Today's menu, or the given date's, optionally for one meal slot
+    @GetMapping("/{id}/menu")
+    public ResponseEntity<DailyMenu> getDailyMenu(@PathVariable Long id,
+                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                  @RequestParam(required = false) MealSlot slot) {
+        try {
+            Optional<DailyMenu> menu = dailyMenuService.findDailyMenu(id, date == null ? LocalDate.now() : date, slot);
+            return menu.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    // Live dish, rating and canteen changes as Server-Sent Events; replaces polling the menu
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@PathVariable Long id) {
+        if (catalogService.findCanteen(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return menuChangeStream.subscribe(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                              .header(HttpHeaders.RETRY_AFTER, "30")
+                                              .build());
     }
     
     @PostMapping
@@ -48,8 +124,11 @@ public class CanteenController {
         }
         
         try {
-            Canteen savedCanteen = canteenRepository.save(canteen);
-            return ResponseEntity.status(HttpStatus.CREATED).body(savedCanteen);
+            CanteenMenu menu = catalogService.createCanteen(canteen);
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(EntityTags.of(menu)).body(menu);
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race against a concurrent insert of the same name (unique constraint)
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Canteen with this name already exists");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                .body("Error creating canteen: " + e.getMessage());
@@ -57,30 +136,30 @@ public class CanteenController {
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateCanteen(@PathVariable Long id, @Valid @RequestBody Canteen canteenDetails, BindingResult result) {
+    public ResponseEntity<?> updateCanteen(@PathVariable Long id, @Valid @RequestBody Canteen canteenDetails, BindingResult result,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         if (result.hasErrors()) {
             return ResponseEntity.badRequest().body(result.getAllErrors());
         }
         
+        // Check if the new name conflicts with another canteen; the unique constraint catches races
+        if (canteenRepository.existsByNameAndIdNot(canteenDetails.getName(), id)) {
+            return ResponseEntity.badRequest().body("Canteen with this name already exists");
+        }
+        
         try {
-            Optional<Canteen> optionalCanteen = canteenRepository.findById(id);
-            if (optionalCanteen.isPresent()) {
-                Canteen canteen = optionalCanteen.get();
-                
-                // Check if name is being changed and if it conflicts with existing
-                if (!canteen.getName().equals(canteenDetails.getName()) && 
-                    canteenRepository.existsByName(canteenDetails.getName())) {
-                    return ResponseEntity.badRequest().body("Canteen with this name already exists");
-                }
-                
-                canteen.setName(canteenDetails.getName());
-                canteen.setLocation(canteenDetails.getLocation());
-                canteen.setDescription(canteenDetails.getDescription());
-                
-                Canteen updatedCanteen = canteenRepository.save(canteen);
-                return ResponseEntity.ok(updatedCanteen);
+            Optional<CanteenMenu> updatedCanteen = catalogService.updateCanteen(id, canteenDetails,
+                    version -> EntityTags.matchesVersion(ifMatch, version));
+            if (updatedCanteen.isPresent()) {
+                CanteenMenu menu = updatedCanteen.get();
+                return ResponseEntity.ok().eTag(EntityTags.of(menu)).body(menu);
             }
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            // If-Match did not match, or a concurrent edit committed between our read and write
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Canteen was modified by someone else");
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Canteen with this name already exists");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                .body("Error updating canteen: " + e.getMessage());
@@ -88,13 +167,15 @@ public class CanteenController {
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteCanteen(@PathVariable Long id) {
+    public ResponseEntity<?> deleteCanteen(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            if (canteenRepository.existsById(id)) {
-                canteenRepository.deleteById(id);
+            if (catalogService.deleteCanteen(id, version -> EntityTags.matchesVersion(ifMatch, version))) {
                 return ResponseEntity.ok().build();
             }
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Canteen was modified by someone else");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                .body("Error deleting canteen: " + e.getMessage());
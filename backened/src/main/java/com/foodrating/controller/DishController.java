@@ -1,15 +1,30 @@
 package com.foodrating.controller;
 
+import com.foodrating.dto.CursorPage;
+import com.foodrating.dto.DishFilter;
+import com.foodrating.dto.DishFilterResults;
+import com.foodrating.dto.DishScheduleView;
+import com.foodrating.dto.DishView;
+import com.foodrating.entity.Canteen;
 import com.foodrating.entity.Dish;
+import com.foodrating.repository.DishFilterRepository;
 import com.foodrating.repository.DishRepository;
 import com.foodrating.repository.CanteenRepository;
+import com.foodrating.service.CatalogService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,45 +33,151 @@ import java.util.Optional;
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:8081"})
 public class DishController {
     
+    private static final Logger log = LoggerFactory.getLogger(DishController.class);
+    
     @Autowired
     private DishRepository dishRepository;
     
     @Autowired
     private CanteenRepository canteenRepository;
     
+    @Autowired
+    private CatalogService catalogService;
+    
+    @Autowired
+    private DishFilterRepository dishFilterRepository;
+    
     @GetMapping
-    public ResponseEntity<List<Dish>> getAllDishes() {
+    public ResponseEntity<?> getAllDishes(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int size,
+                                          @RequestParam(defaultValue = "asc") String sort,
+                                          @RequestParam(required = false) String category,
+                                          @RequestParam(required = false) Long canteenId) {
+        if (!"asc".equalsIgnoreCase(sort) && !"desc".equalsIgnoreCase(sort)) {
+            return ResponseEntity.badRequest().body("sort must be 'asc' or 'desc'");
+        }
+        
         try {
-            List<Dish> dishes = dishRepository.findAll();
-            return ResponseEntity.ok(dishes);
+            Long position = CursorPage.decode(cursor);
+            int limit = CursorPage.clampSize(size);
+            // Fetch one extra row to learn whether another page exists
+            PageRequest window = PageRequest.of(0, limit + 1);
+            
+            List<Dish> dishes = "desc".equalsIgnoreCase(sort)
+                    ? dishRepository.findPageBefore(position == null ? Long.MAX_VALUE : position, category, canteenId, window)
+                    : dishRepository.findPageAfter(position == null ? 0L : position, category, canteenId, window);
+            List<DishView> views = dishes.stream().map(DishView::from).toList();
+            return ResponseEntity.ok(CursorPage.of(views, limit, DishView::id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    // Any combination of canteens, categories, location, price range, minimum rating and serving date,
+    // one keyset page at a time, with facet counts for the filter UI
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterDishes(@RequestParam(required = false) List<Long> canteenId,
+                                          @RequestParam(required = false) List<String> category,
+                                          @RequestParam(required = false) String location,
+                                          @RequestParam(required = false) Double minPrice,
+                                          @RequestParam(required = false) Double maxPrice,
+                                          @RequestParam(required = false) Integer minRating,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int size,
+                                          @RequestParam(defaultValue = "asc") String sort) {
+        if (!"asc".equalsIgnoreCase(sort) && !"desc".equalsIgnoreCase(sort)) {
+            return ResponseEntity.badRequest().body("sort must be 'asc' or 'desc'");
+        }
+        if ((minPrice != null && minPrice < 0) || (maxPrice != null && maxPrice < 0)
+                || (minPrice != null && maxPrice != null && minPrice >= maxPrice)) {
+            return ResponseEntity.badRequest().body("Price range must satisfy 0 <= minPrice < maxPrice");
+        }
+        if (minRating != null && (minRating < 1 || minRating > 5)) {
+            return ResponseEntity.badRequest().body("minRating must be between 1 and 5");
+        }
+        
+        try {
+            Long position = CursorPage.decode(cursor);
+            int limit = CursorPage.clampSize(size);
+            DishFilter filter = new DishFilter(canteenId, category, location == null || location.isBlank() ? null : location,
+                                               minPrice, maxPrice, minRating, date);
+            DishFilterResults results = dishFilterRepository.filter(filter, position, "desc".equalsIgnoreCase(sort), limit);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        } catch (Exception e) {
+            log.error("Dish filter failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<Dish> getDishById(@PathVariable Long id) {
-        Optional<Dish> dish = dishRepository.findById(id);
-        return dish.map(ResponseEntity::ok)
-                  .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<DishView> getDishById(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<DishView> dish = catalogService.findDish(id);
+        if (dish.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        DishView view = dish.get();
+        String etag = EntityTags.of(view);
+        if (EntityTags.noneMatchHit(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(view);
     }
     
     @GetMapping("/canteen/{canteenId}")
-    public ResponseEntity<List<Dish>> getDishesByCanteen(@PathVariable Long canteenId) {
+    public ResponseEntity<List<DishView>> getDishesByCanteen(@PathVariable Long canteenId,
+                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Dish> dishes = dishRepository.findByCanteenId(canteenId);
-            return ResponseEntity.ok(dishes);
+            List<DishView> dishes = catalogService.findMenu(canteenId);
+            // Polling clients get a 304 while the menu is unchanged
+            String etag = EntityTags.ofList(dishes);
+            if (EntityTags.noneMatchHit(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(dishes);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<DishScheduleView> getSchedule(@PathVariable Long id) {
+        try {
+            return catalogService.findSchedule(id).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    // Replaces the dish's availability rules (weekdays, date range, meal slot)
+    @PutMapping("/{id}/schedule")
+    public ResponseEntity<?> replaceSchedule(@PathVariable Long id, @Valid @RequestBody DishScheduleView schedule, BindingResult result) {
+        if (result.hasErrors()) {
+            return ResponseEntity.badRequest().body(result.getAllErrors());
+        }
+        
+        try {
+            Optional<DishScheduleView> saved = catalogService.replaceSchedule(id, schedule.rules());
+            if (saved.isPresent()) {
+                return ResponseEntity.ok(saved.get());
+            }
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                               .body("Error updating schedule: " + e.getMessage());
+        }
+    }
+    
     // POST - Create new dish
     @PostMapping
     public ResponseEntity<?> createDish(@RequestBody Dish dish) {
         try {
-            System.out.println("Received dish: " + dish); // Debug log
-            
             // Validate required fields
             if (dish.getName() == null || dish.getName().trim().isEmpty()) {
                 return ResponseEntity.badRequest().body("Dish name is required");
@@ -66,49 +187,47 @@ public class DishController {
                 return ResponseEntity.badRequest().body("Canteen ID is required");
             }
             
-            // Check if canteen exists
-            if (!canteenRepository.existsById(dish.getCanteen().getId())) {
+            // Check if canteen exists; the loaded canteen also supplies the summary in the response
+            Optional<Canteen> canteen = canteenRepository.findById(dish.getCanteen().getId());
+            if (canteen.isEmpty()) {
                 return ResponseEntity.badRequest().body("Canteen not found with ID: " + dish.getCanteen().getId());
             }
+            dish.setCanteen(canteen.get());
             
             // Set default values if null
             if (dish.getPrice() == null) dish.setPrice(0.0);
             if (dish.getRating() == null) dish.setRating(1);
             
-            Dish savedDish = dishRepository.save(dish);
-            System.out.println("Saved dish: " + savedDish); // Debug log
+            DishView view = catalogService.createDish(dish);
+            log.debug("Created dish {} in canteen {}", view.id(), view.canteen().id());
             
-            return ResponseEntity.status(HttpStatus.CREATED).body(savedDish);
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(EntityTags.of(view)).body(view);
             
         } catch (Exception e) {
-            System.out.println("Error creating dish: " + e.getMessage()); // Debug log
-            e.printStackTrace();
+            log.error("Creating dish failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                .body("Error creating dish: " + e.getMessage());
         }
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateDish(@PathVariable Long id, @Valid @RequestBody Dish dishDetails, BindingResult result) {
+    public ResponseEntity<?> updateDish(@PathVariable Long id, @Valid @RequestBody Dish dishDetails, BindingResult result,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         if (result.hasErrors()) {
             return ResponseEntity.badRequest().body(result.getAllErrors());
         }
         
         try {
-            Optional<Dish> optionalDish = dishRepository.findById(id);
-            if (optionalDish.isPresent()) {
-                Dish dish = optionalDish.get();
-                dish.setName(dishDetails.getName());
-                dish.setDescription(dishDetails.getDescription());
-                dish.setCategory(dishDetails.getCategory());
-                dish.setPrice(dishDetails.getPrice());
-                dish.setRating(dishDetails.getRating());
-                dish.setAvailableDate(dishDetails.getAvailableDate());
-                
-                Dish updatedDish = dishRepository.save(dish);
-                return ResponseEntity.ok(updatedDish);
+            Optional<DishView> updatedDish = catalogService.updateDish(id, dishDetails,
+                    version -> EntityTags.matchesVersion(ifMatch, version));
+            if (updatedDish.isPresent()) {
+                DishView view = updatedDish.get();
+                return ResponseEntity.ok().eTag(EntityTags.of(view)).body(view);
             }
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            // If-Match did not match, or a concurrent edit committed between our read and write
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Dish was modified by someone else");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                             .body("Error updating dish: " + e.getMessage());
@@ -116,13 +235,15 @@ public class DishController {
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteDish(@PathVariable Long id) {
+    public ResponseEntity<?> deleteDish(@PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            if (dishRepository.existsById(id)) {
-                dishRepository.deleteById(id);
+            if (catalogService.deleteDish(id, version -> EntityTags.matchesVersion(ifMatch, version))) {
                 return ResponseEntity.ok().build();
             }
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Dish was modified by someone else");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                .body("Error deleting dish: " + e.getMessage());
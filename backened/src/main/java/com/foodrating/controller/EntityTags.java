@@ -0,0 +1,87 @@
+package com.foodrating.controller;
+
+import com.foodrating.dto.CanteenMenu;
+import com.foodrating.dto.DishView;
+import com.foodrating.dto.MenuItem;
+
+import java.util.Collection;
+import java.util.Objects;
+
+// ETag support for the dish and canteen endpoints.
+// A single resource's tag is "<version>-<hash>": the entity version plus a hash of the rating
+// aggregate and of the embedded canteen summary, neither of which bumps the dish's version. If-Match
+// only compares the version part, so a rating that lands between a GET and a PUT does not turn an
+// admin edit into a conflict.
+final class EntityTags {
+
+    private EntityTags() {}
+
+    static String of(DishView dish) {
+        return tag(dish.version(), Objects.hash(dish.ratingCount(), dish.averageRating(), dish.canteen()));
+    }
+
+    static String of(CanteenMenu canteen) {
+        int hash = Objects.hash(canteen.ratingCount(), canteen.averageRating());
+        for (MenuItem item : canteen.dishes()) {
+            hash = 31 * hash + Objects.hash(item.id(), item.version(), item.ratingCount(), item.averageRating());
+        }
+        return tag(canteen.version(), hash);
+    }
+
+    // Weak tag for a list; only ever compared against If-None-Match. The canteen summary (id, name,
+    // location) is part of every entry, and renaming the canteen leaves the dish versions alone.
+    static String ofList(Collection<DishView> dishes) {
+        int hash = 1;
+        for (DishView dish : dishes) {
+            hash = 31 * hash + Objects.hash(dish.id(), dish.version(), dish.ratingCount(), dish.averageRating(), dish.canteen());
+        }
+        return "W/\"" + dishes.size() + "-" + Integer.toHexString(hash) + "\"";
+    }
+
+    // If-None-Match uses weak comparison: W/ prefixes are ignored
+    static boolean noneMatchHit(String ifNoneMatch, String currentTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String current = opaque(currentTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // True when there is no If-Match header, it is "*", or one of its tags carries the current version
+    static boolean matchesVersion(String ifMatch, Long version) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            String value = opaque(tag);
+            int dash = value.indexOf('-');
+            String versionPart = dash < 0 ? value : value.substring(0, dash);
+            if (versionPart.equals(String.valueOf(version))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String tag(Long version, int hash) {
+        return "\"" + version + "-" + Integer.toHexString(hash) + "\"";
+    }
+
+    private static String opaque(String tag) {
+        String value = tag.startsWith("W/") ? tag.substring(2) : tag;
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,38 @@
+package com.foodrating.controller;
+
+import com.foodrating.dto.LeaderboardEntry;
+import com.foodrating.service.DishLeaderboard;
+import com.foodrating.service.LeaderboardWindow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/dishes/top")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:8081"})
+public class LeaderboardController {
+
+    @Autowired
+    private DishLeaderboard dishLeaderboard;
+
+    // Served from the in-memory rankings; never touches the database
+    @GetMapping
+    public ResponseEntity<?> getTopDishes(@RequestParam(required = false) Long canteenId,
+                                          @RequestParam(required = false) String category,
+                                          @RequestParam(defaultValue = "all") String window,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        LeaderboardWindow leaderboardWindow;
+        try {
+            leaderboardWindow = LeaderboardWindow.parse(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("window must be 'all', 'week' or 'day'");
+        }
+
+        String categoryFilter = category == null || category.isBlank() ? null : category;
+        int size = Math.max(1, Math.min(limit, DishLeaderboard.MAX_LIMIT));
+        List<LeaderboardEntry> top = dishLeaderboard.top(leaderboardWindow, canteenId, categoryFilter, size);
+        return ResponseEntity.ok(top);
+    }
+}
@@ -0,0 +1,51 @@
+package com.foodrating.controller;
+
+import com.foodrating.dto.RatingRequest;
+import com.foodrating.dto.RatingSummary;
+import com.foodrating.service.RatingIngestionPipeline;
+import com.foodrating.service.RatingService;
+import com.foodrating.service.RatingSubmission;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/dishes/{dishId}/ratings")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:8081"})
+public class RatingController {
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private RatingIngestionPipeline ratingIngestionPipeline;
+
+    @GetMapping
+    public ResponseEntity<RatingSummary> getRatingSummary(@PathVariable Long dishId) {
+        return ratingService.summarize(dishId)
+                            .map(ResponseEntity::ok)
+                            .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Ratings are persisted asynchronously in batches; 202 means the rating was queued
+    @PostMapping
+    public ResponseEntity<?> rateDish(@PathVariable Long dishId, @Valid @RequestBody RatingRequest request, BindingResult result) {
+        if (result.hasErrors()) {
+            return ResponseEntity.badRequest().body(result.getAllErrors());
+        }
+
+        RatingSubmission submission = new RatingSubmission(dishId, request.userId(), request.score(), Instant.now());
+        if (!ratingIngestionPipeline.submit(submission)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                               .header(HttpHeaders.RETRY_AFTER, "1")
+                               .body("Too many ratings right now, please retry shortly");
+        }
+        return ResponseEntity.accepted().build();
+    }
+}
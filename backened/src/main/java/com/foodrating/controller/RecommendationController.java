@@ -0,0 +1,43 @@
+package com.foodrating.controller;
+
+import com.foodrating.dto.DishSuggestion;
+import com.foodrating.service.CatalogService;
+import com.foodrating.service.DishSimilarityIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:8081"})
+public class RecommendationController {
+
+    @Autowired
+    private DishSimilarityIndex dishSimilarityIndex;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    // "Students who liked this dish also liked", from the in-memory co-rating index
+    @GetMapping("/dishes/{id}/similar")
+    public ResponseEntity<?> getSimilarDishes(@PathVariable Long id, @RequestParam(defaultValue = "10") int limit) {
+        if (catalogService.findDish(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        List<DishSuggestion> similar = dishSimilarityIndex.similar(id, clamp(limit));
+        return ResponseEntity.ok(similar);
+    }
+
+    // Empty for users with no ratings yet
+    @GetMapping("/users/{userId}/recommendations")
+    public ResponseEntity<?> getRecommendations(@PathVariable String userId, @RequestParam(defaultValue = "10") int limit) {
+        List<DishSuggestion> recommended = dishSimilarityIndex.recommend(userId, clamp(limit));
+        return ResponseEntity.ok(recommended);
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, DishSimilarityIndex.MAX_LIMIT));
+    }
+}
@@ -0,0 +1,50 @@
+package com.foodrating.controller;
+
+import com.foodrating.dto.SearchHit;
+import com.foodrating.dto.SearchResults;
+import com.foodrating.repository.SearchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:8081"})
+public class SearchController {
+
+    static final int MAX_SIZE = 50;
+    static final int MAX_QUERY_LENGTH = 100;
+    // Deep pages of a relevance ranking are never useful and cost a full sort each
+    static final int MAX_PAGE = 20;
+
+    @Autowired
+    private SearchRepository searchRepository;
+
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam(required = false) String q,
+                                    @RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(defaultValue = "20") int size) {
+        String query = q == null ? "" : q.trim();
+        if (query.isEmpty()) {
+            return ResponseEntity.badRequest().body("q is required");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            return ResponseEntity.badRequest().body("q must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (page < 0 || page > MAX_PAGE) {
+            return ResponseEntity.badRequest().body("page must be between 0 and " + MAX_PAGE);
+        }
+
+        try {
+            int limit = Math.max(1, Math.min(size, MAX_SIZE));
+            // Fetch one extra row to learn whether another page exists
+            List<SearchHit> hits = searchRepository.search(query, page * limit, limit + 1);
+            return ResponseEntity.ok(SearchResults.of(query, hits, page, limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.foodrating.controller;
+
+import com.foodrating.dto.CatalogStats;
+import com.foodrating.service.StatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:8081"})
+public class StatsController {
+
+    @Autowired
+    private StatsService statsService;
+
+    // Browsers may reuse a response for as long as the server-side cache would serve it anyway
+    @Value("${foodrating.stats.ttl:30s}")
+    private Duration ttl;
+
+    @GetMapping
+    public ResponseEntity<?> getStats() {
+        try {
+            return cached(new CatalogStats(statsService.canteenStats(), statsService.categoryStats()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/canteens")
+    public ResponseEntity<?> getCanteenStats() {
+        try {
+            return cached(statsService.canteenStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<?> getCategoryStats() {
+        try {
+            return cached(statsService.categoryStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    private ResponseEntity<?> cached(Object body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(ttl)).body(body);
+    }
+}
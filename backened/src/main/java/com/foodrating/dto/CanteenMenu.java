@@ -0,0 +1,28 @@
+package com.foodrating.dto;
+
+import com.foodrating.entity.Canteen;
+
+import java.util.List;
+
+// Canteen with its full menu; built from a canteen whose dishes were fetched in the same query
+public record CanteenMenu(Long id,
+                          String name,
+                          String location,
+                          String description,
+                          Long version,
+                          Double averageRating,
+                          long ratingCount,
+                          List<MenuItem> dishes) {
+
+    public static CanteenMenu from(Canteen canteen) {
+        return new CanteenMenu(
+                canteen.getId(),
+                canteen.getName(),
+                canteen.getLocation(),
+                canteen.getDescription(),
+                canteen.getVersion(),
+                canteen.getRatingStats().getAverage(),
+                canteen.getRatingStats().getCount(),
+                canteen.getDishes().stream().map(MenuItem::from).toList());
+    }
+}
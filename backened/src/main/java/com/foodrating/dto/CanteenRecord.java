@@ -0,0 +1,17 @@
+package com.foodrating.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+// One canteen row of a bulk import or export; id is written on export and ignored on import
+public record CanteenRecord(Long id,
+                            @NotBlank @Size(max = 255) String name,
+                            @Size(max = 255) String location,
+                            @Size(max = 255) String description) {
+
+    public static final String[] CSV_COLUMNS = {"id", "name", "location", "description"};
+
+    public Object[] csvValues() {
+        return new Object[] {id, name, location, description};
+    }
+}
@@ -0,0 +1,16 @@
+package com.foodrating.dto;
+
+import java.util.Map;
+
+// Aggregates over one canteen's dishes; prices and averages are null for a canteen without dishes or ratings
+public record CanteenStats(Long canteenId,
+                           String name,
+                           long dishCount,
+                           Double averagePrice,
+                           Double minPrice,
+                           Double maxPrice,
+                           long ratingCount,
+                           Double averageRating,
+                           Map<Integer, Long> ratingDistribution,
+                           long availableToday) {
+}
@@ -0,0 +1,11 @@
+package com.foodrating.dto;
+
+import com.foodrating.entity.Canteen;
+
+// Canteen reference embedded in dish responses
+public record CanteenSummary(Long id, String name, String location) {
+
+    public static CanteenSummary from(Canteen canteen) {
+        return new CanteenSummary(canteen.getId(), canteen.getName(), canteen.getLocation());
+    }
+}
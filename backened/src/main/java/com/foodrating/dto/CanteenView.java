@@ -0,0 +1,20 @@
+package com.foodrating.dto;
+
+import com.foodrating.entity.RatingStats;
+
+// Canteen row for listings; dishCount is computed in the listing query instead of loading the menu
+public record CanteenView(Long id,
+                          String name,
+                          String location,
+                          String description,
+                          Long dishCount,
+                          Double averageRating,
+                          long ratingCount) {
+
+    // Constructor expression target for the listing queries
+    public CanteenView(Long id, String name, String location, String description,
+                       Long dishCount, Long ratingCount, Long ratingSum) {
+        this(id, name, location, description, dishCount,
+             RatingStats.average(ratingCount, ratingSum), ratingCount);
+    }
+}
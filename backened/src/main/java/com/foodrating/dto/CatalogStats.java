@@ -0,0 +1,6 @@
+package com.foodrating.dto;
+
+import java.util.List;
+
+public record CatalogStats(List<CanteenStats> canteens, List<CategoryStats> categories) {
+}
@@ -0,0 +1,16 @@
+package com.foodrating.dto;
+
+import java.util.Map;
+
+// Aggregates over every dish of one category; category is null for dishes without one
+public record CategoryStats(String category,
+                            long dishCount,
+                            long canteenCount,
+                            Double averagePrice,
+                            Double minPrice,
+                            Double maxPrice,
+                            long ratingCount,
+                            Double averageRating,
+                            Map<Integer, Long> ratingDistribution,
+                            long availableToday) {
+}
@@ -0,0 +1,45 @@
+package com.foodrating.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset (seek) listing. nextCursor is null on the last page.
+public record CursorPage<T>(List<T> items, String nextCursor, int size) {
+
+    public static final int MAX_SIZE = 100;
+
+    private static final String PREFIX = "id:";
+
+    public static int clampSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    // rows is expected to hold up to size + 1 elements; the extra row only tells us another page exists
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, size);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, size));
+        return new CursorPage<>(items, encode(idOf.apply(items.get(size - 1))), size);
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                     .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for a missing cursor (first page); throws IllegalArgumentException for a malformed one
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!raw.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return Long.parseLong(raw.substring(PREFIX.length()));
+    }
+}
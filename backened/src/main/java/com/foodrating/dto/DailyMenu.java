@@ -0,0 +1,14 @@
+package com.foodrating.dto;
+
+import com.foodrating.entity.MealSlot;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// What a canteen serves on one date: dishes served all day, then dishes per meal slot in serving order
+public record DailyMenu(Long canteenId,
+                        LocalDate date,
+                        List<DishView> allDay,
+                        Map<MealSlot, List<DishView>> slots) {
+}
@@ -0,0 +1,12 @@
+package com.foodrating.dto;
+
+import java.util.List;
+
+// Match counts next to a filter result. categories and canteens are counted as if their own
+// selection were cleared, so every alternative shows how many dishes choosing it would add; prices
+// and ratings are counted within the result. ratings are cumulative ("4+" includes the 5s).
+public record DishFacets(List<FacetCount> categories,
+                         List<FacetCount> canteens,
+                         List<FacetCount> prices,
+                         List<FacetCount> ratings) {
+}
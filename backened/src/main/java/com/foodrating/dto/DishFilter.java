@@ -0,0 +1,21 @@
+package com.foodrating.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Criteria of the composite dish filter; null or empty means "any". minPrice is inclusive and
+// maxPrice exclusive, so maxPrice=50 reads "under 50". minRating compares the whole-star rating
+// dishes are shown with. canteenIds and categories each match any of their values.
+public record DishFilter(List<Long> canteenIds,
+                         List<String> categories,
+                         String location,
+                         Double minPrice,
+                         Double maxPrice,
+                         Integer minRating,
+                         LocalDate servedOn) {
+
+    public DishFilter {
+        canteenIds = canteenIds == null ? List.of() : List.copyOf(canteenIds);
+        categories = categories == null ? List.of() : List.copyOf(categories);
+    }
+}
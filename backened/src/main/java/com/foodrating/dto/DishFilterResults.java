@@ -0,0 +1,12 @@
+package com.foodrating.dto;
+
+import java.util.List;
+
+// One keyset page of filtered dishes (same paging as CursorPage), the total number of matches and
+// the facet counts, so a filter screen needs a single request
+public record DishFilterResults(List<DishView> items, String nextCursor, int size, long total, DishFacets facets) {
+
+    public static DishFilterResults of(CursorPage<DishView> page, long total, DishFacets facets) {
+        return new DishFilterResults(page.items(), page.nextCursor(), page.size(), total, facets);
+    }
+}
@@ -0,0 +1,37 @@
+package com.foodrating.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+// One dish row of a bulk import or export. On import the canteen is given by canteenId or, for
+// canteens imported in the same onboarding, by canteenName; id is ignored.
+public record DishRecord(Long id,
+                         @NotBlank @Size(max = 255) String name,
+                         @Size(max = 255) String description,
+                         @Size(max = 255) String category,
+                         @PositiveOrZero Double price,
+                         @Min(1) @Max(5) Integer rating,
+                         LocalDate availableDate,
+                         Long canteenId,
+                         @Size(max = 255) String canteenName) {
+
+    public static final String[] CSV_COLUMNS =
+            {"id", "name", "description", "category", "price", "rating", "availableDate", "canteenId", "canteenName"};
+
+    public Object[] csvValues() {
+        return new Object[] {id, name, description, category, price, rating, availableDate, canteenId, canteenName};
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "canteenId or canteenName is required")
+    public boolean isCanteenGiven() {
+        return canteenId != null || (canteenName != null && !canteenName.isBlank());
+    }
+}
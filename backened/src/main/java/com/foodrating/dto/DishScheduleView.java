@@ -0,0 +1,13 @@
+package com.foodrating.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// A dish's availability rules; dishId is filled in on responses and ignored on requests.
+// An empty list returns the dish to its single availableDate.
+public record DishScheduleView(Long dishId,
+                               @NotNull @Size(max = 20) List<@Valid ScheduleEntry> rules) {
+}
@@ -0,0 +1,6 @@
+package com.foodrating.dto;
+
+// A dish suggested from co-rating data. score is the item-item similarity for similar dishes and the
+// summed, similarity-weighted evidence for recommendations; only its order is meaningful.
+public record DishSuggestion(DishView dish, double score) {
+}
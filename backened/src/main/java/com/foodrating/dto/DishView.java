@@ -0,0 +1,34 @@
+package com.foodrating.dto;
+
+import com.foodrating.entity.Dish;
+
+import java.time.LocalDate;
+
+// Dish with a summary of its canteen; built from a dish whose canteen was fetched in the same query
+public record DishView(Long id,
+                       String name,
+                       String description,
+                       String category,
+                       Double price,
+                       Integer rating,
+                       Double averageRating,
+                       long ratingCount,
+                       LocalDate availableDate,
+                       Long version,
+                       CanteenSummary canteen) {
+
+    public static DishView from(Dish dish) {
+        return new DishView(
+                dish.getId(),
+                dish.getName(),
+                dish.getDescription(),
+                dish.getCategory(),
+                dish.getPrice(),
+                dish.getRatingStats().roundedAverageOr(dish.getRating()),
+                dish.getRatingStats().getAverage(),
+                dish.getRatingStats().getCount(),
+                dish.getAvailableDate(),
+                dish.getVersion(),
+                dish.getCanteen() == null ? null : CanteenSummary.from(dish.getCanteen()));
+    }
+}
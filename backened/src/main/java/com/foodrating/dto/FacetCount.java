@@ -0,0 +1,5 @@
+package com.foodrating.dto;
+
+// One facet value: value is what the client sends back as the filter parameter, label is for display
+public record FacetCount(String value, String label, long count) {
+}
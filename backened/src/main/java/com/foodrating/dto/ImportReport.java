@@ -0,0 +1,13 @@
+package com.foodrating.dto;
+
+import java.util.List;
+
+// Outcome of a bulk import. Rows are numbered by input line (the CSV header is line 1); only the
+// first MAX_ERRORS errors are listed, the counts are always complete.
+public record ImportReport(long received, long imported, long failed, List<RowError> errors, boolean errorsTruncated) {
+
+    public static final int MAX_ERRORS = 1000;
+
+    public record RowError(long line, String message) {
+    }
+}
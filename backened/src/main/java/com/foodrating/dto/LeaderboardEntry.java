@@ -0,0 +1,8 @@
+package com.foodrating.dto;
+
+// A dish's standing in one leaderboard window. averageRating and ratingCount cover the window only;
+// score is the smoothed average the board is ordered by.
+public record LeaderboardEntry(Long dishId, String name, String category, Double price,
+                               Long canteenId, String canteenName,
+                               Double averageRating, long ratingCount, double score) {
+}
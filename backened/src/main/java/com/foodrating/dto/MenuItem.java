@@ -0,0 +1,32 @@
+package com.foodrating.dto;
+
+import com.foodrating.entity.Dish;
+
+import java.time.LocalDate;
+
+// Dish as listed inside its own canteen's menu, so without the canteen back-reference
+public record MenuItem(Long id,
+                       String name,
+                       String description,
+                       String category,
+                       Double price,
+                       Integer rating,
+                       Double averageRating,
+                       long ratingCount,
+                       LocalDate availableDate,
+                       Long version) {
+
+    public static MenuItem from(Dish dish) {
+        return new MenuItem(
+                dish.getId(),
+                dish.getName(),
+                dish.getDescription(),
+                dish.getCategory(),
+                dish.getPrice(),
+                dish.getRatingStats().roundedAverageOr(dish.getRating()),
+                dish.getRatingStats().getAverage(),
+                dish.getRatingStats().getCount(),
+                dish.getAvailableDate(),
+                dish.getVersion());
+    }
+}
@@ -0,0 +1,11 @@
+package com.foodrating.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record RatingRequest(@NotBlank @Size(max = 64) String userId,
+                            @NotNull @Min(1) @Max(5) Integer score) {
+}
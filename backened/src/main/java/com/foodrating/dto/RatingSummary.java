@@ -0,0 +1,20 @@
+package com.foodrating.dto;
+
+import com.foodrating.entity.Dish;
+
+import java.util.Map;
+
+// Read straight off the running aggregate, so the cost does not grow with the number of ratings
+public record RatingSummary(Long dishId,
+                            long count,
+                            Double average,
+                            Map<Integer, Long> histogram) {
+
+    public static RatingSummary from(Dish dish) {
+        return new RatingSummary(
+                dish.getId(),
+                dish.getRatingStats().getCount(),
+                dish.getRatingStats().getAverage(),
+                dish.getRatingStats().getHistogram());
+    }
+}
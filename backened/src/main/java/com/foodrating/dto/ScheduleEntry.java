@@ -0,0 +1,37 @@
+package com.foodrating.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.foodrating.entity.DishSchedule;
+import com.foodrating.entity.MealSlot;
+import jakarta.validation.constraints.AssertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+// One availability rule of a dish as sent and returned by the schedule endpoints. A missing slot
+// means all day, missing days mean every day, and from/until bound the rule when given.
+public record ScheduleEntry(MealSlot slot,
+                            Set<DayOfWeek> days,
+                            LocalDate from,
+                            LocalDate until) {
+
+    public static ScheduleEntry from(DishSchedule schedule) {
+        return new ScheduleEntry(
+                schedule.getMealSlot(),
+                DishSchedule.daysOf(schedule.getDaysOfWeek()),
+                schedule.getStartDate(),
+                schedule.getEndDate());
+    }
+
+    public static List<ScheduleEntry> fromAll(List<DishSchedule> schedules) {
+        return schedules.stream().map(ScheduleEntry::from).toList();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "from must not be after until")
+    public boolean isRangeValid() {
+        return from == null || until == null || !from.isAfter(until);
+    }
+}
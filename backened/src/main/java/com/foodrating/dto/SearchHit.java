@@ -0,0 +1,8 @@
+package com.foodrating.dto;
+
+// One ranked search result; canteenId is the dish's canteen, or the canteen itself for type "canteen"
+public record SearchHit(String type, Long id, String name, String detail, Long canteenId, double score) {
+
+    public static final String DISH = "dish";
+    public static final String CANTEEN = "canteen";
+}
@@ -0,0 +1,13 @@
+package com.foodrating.dto;
+
+import java.util.List;
+
+// Ranked results are paged by position (page/size); relevance order has no stable key to seek on
+public record SearchResults(String query, List<SearchHit> items, int page, int size, boolean hasNext) {
+
+    public static SearchResults of(String query, List<SearchHit> rows, int page, int size) {
+        boolean hasNext = rows.size() > size;
+        List<SearchHit> items = hasNext ? rows.subList(0, size) : rows;
+        return new SearchResults(query, List.copyOf(items), page, size, hasNext);
+    }
+}
@@ -1,15 +1,22 @@
 package com.foodrating.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "canteens")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Canteen {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "canteens_seq")
+    @SequenceGenerator(name = "canteens_seq", sequenceName = "canteens_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -18,7 +25,18 @@ public class Canteen {
     private String location;
     private String description;
     
+    // Optimistic lock; bumped by every entity update, not by rating aggregate increments
+    @Version
+    @JsonIgnore
+    private Long version;
+    
+    // Maintained by the ratings subsystem only, never bound from request bodies
+    @Embedded
+    @JsonIgnore
+    private RatingStats ratingStats = new RatingStats();
+    
     @OneToMany(mappedBy = "canteen", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties({"canteen", "hibernateLazyInitializer"})
     private List<Dish> dishes = new ArrayList<>();
     
@@ -73,6 +91,14 @@ public class Canteen {
         this.dishes = dishes; 
     }
     
+    public Long getVersion() { 
+        return version; 
+    }
+    
+    public RatingStats getRatingStats() { 
+        return ratingStats; 
+    }
+    
     // Helper method to add dish
     public void addDish(Dish dish) {
         dishes.add(dish);
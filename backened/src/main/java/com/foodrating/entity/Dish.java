@@ -1,14 +1,21 @@
 package com.foodrating.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "dishes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Dish {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dishes_seq")
+    @SequenceGenerator(name = "dishes_seq", sequenceName = "dishes_seq", allocationSize = 50)
     private Long id;
     
     private String name;
@@ -18,6 +25,16 @@ public class Dish {
     private Integer rating;
     private LocalDate availableDate = LocalDate.now();
     
+    // Optimistic lock; bumped by every entity update, not by rating aggregate increments
+    @Version
+    @JsonIgnore
+    private Long version;
+    
+    // Maintained by the ratings subsystem only, never bound from request bodies
+    @Embedded
+    @JsonIgnore
+    private RatingStats ratingStats = new RatingStats();
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "canteen_id")
     @JsonIgnoreProperties({"dishes", "hibernateLazyInitializer"})
@@ -99,4 +116,12 @@ public class Dish {
     public void setCanteen(Canteen canteen) { 
         this.canteen = canteen; 
     }
+    
+    public Long getVersion() { 
+        return version; 
+    }
+    
+    public RatingStats getRatingStats() { 
+        return ratingStats; 
+    }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.foodrating.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+// One recurring availability rule of a dish: the weekdays it is served, optionally bounded by a
+// date range, in one meal slot (or all day when mealSlot is null). A dish with no rules is
+// served only on its availableDate.
+@Entity
+@Table(name = "dish_schedules")
+public class DishSchedule {
+    public static final int EVERY_DAY = 0b1111111;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dish_schedules_seq")
+    @SequenceGenerator(name = "dish_schedules_seq", sequenceName = "dish_schedules_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "dish_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Dish dish;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "meal_slot", length = 16)
+    private MealSlot mealSlot;
+
+    // Bit (dayOfWeek - 1) is set for each weekday served, Monday = bit 0
+    @Column(name = "days_of_week", nullable = false)
+    private int daysOfWeek = EVERY_DAY;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Default constructor
+    public DishSchedule() {}
+
+    // Parameterized constructor
+    public DishSchedule(Dish dish, MealSlot mealSlot, int daysOfWeek, LocalDate startDate, LocalDate endDate) {
+        this.dish = dish;
+        this.mealSlot = mealSlot;
+        this.daysOfWeek = daysOfWeek;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public static int maskOf(Collection<DayOfWeek> days) {
+        if (days == null || days.isEmpty()) {
+            return EVERY_DAY;
+        }
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+
+    public static Set<DayOfWeek> daysOf(int mask) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & (1 << (day.getValue() - 1))) != 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Dish getDish() {
+        return dish;
+    }
+
+    public MealSlot getMealSlot() {
+        return mealSlot;
+    }
+
+    public int getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+}
@@ -0,0 +1,9 @@
+package com.foodrating.entity;
+
+// Serving periods of a canteen day, in serving order
+public enum MealSlot {
+    BREAKFAST,
+    LUNCH,
+    SNACKS,
+    DINNER
+}
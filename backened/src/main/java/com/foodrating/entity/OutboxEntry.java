@@ -0,0 +1,83 @@
+package com.foodrating.entity;
+
+import com.foodrating.event.ChangeType;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// One committed catalog change, written in the same transaction as the change itself and handed
+// to the outbox sink by OutboxPoller. publishedAt is null until the sink has accepted it.
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEntry {
+    public static final String DISH = "dish";
+    public static final String CANTEEN = "canteen";
+
+    @Id
+    // Unpooled, so ids are unique and increase per aggregate across instances (see OutboxWriter).
+    // They are taken at insert time: across aggregates a higher id can commit first.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 16)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    // JSON state after the change
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    // Default constructor
+    public OutboxEntry() {}
+
+    // Parameterized constructor
+    public OutboxEntry(String aggregateType, Long aggregateId, ChangeType changeType, String payload, Instant occurredAt) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.changeType = changeType;
+        this.payload = payload;
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+}
@@ -0,0 +1,77 @@
+package com.foodrating.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+// One user's rating of one dish. Re-rating updates the row in place.
+@Entity
+@Table(name = "ratings",
+       uniqueConstraints = @UniqueConstraint(name = "uk_ratings_dish_user", columnNames = {"dish_id", "user_id"}))
+public class Rating {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ratings_seq")
+    @SequenceGenerator(name = "ratings_seq", sequenceName = "ratings_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "dish_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Dish dish;
+
+    @Column(name = "user_id", nullable = false, length = 64)
+    private String userId;
+
+    @Column(nullable = false)
+    private Integer score;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    // Default constructor
+    public Rating() {}
+
+    // Parameterized constructor
+    public Rating(Dish dish, String userId, Integer score, Instant ratedAt) {
+        this.dish = dish;
+        this.userId = userId;
+        this.score = score;
+        this.createdAt = ratedAt;
+        this.updatedAt = ratedAt;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public Dish getDish() {
+        return dish;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public void setScore(Integer score) {
+        this.score = score;
+        this.updatedAt = Instant.now();
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
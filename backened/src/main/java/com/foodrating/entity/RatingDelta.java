@@ -0,0 +1,45 @@
+package com.foodrating.entity;
+
+// Change to apply to a RatingStats aggregate: counts can be negative when a rating is replaced or withdrawn
+public record RatingDelta(long count, long sum, long ones, long twos, long threes, long fours, long fives) {
+
+    public static final RatingDelta ZERO = new RatingDelta(0, 0, 0, 0, 0, 0, 0);
+
+    public static RatingDelta added(int score) {
+        return single(score, 1);
+    }
+
+    public static RatingDelta replaced(int oldScore, int newScore) {
+        return single(newScore, 1).plus(single(oldScore, -1));
+    }
+
+    public static RatingDelta of(RatingStats stats) {
+        return new RatingDelta(stats.getCount(), stats.getSum(), stats.getOnes(), stats.getTwos(),
+                               stats.getThrees(), stats.getFours(), stats.getFives());
+    }
+
+    private static RatingDelta single(int score, long n) {
+        if (score < 1 || score > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        return new RatingDelta(n, n * score,
+                               score == 1 ? n : 0,
+                               score == 2 ? n : 0,
+                               score == 3 ? n : 0,
+                               score == 4 ? n : 0,
+                               score == 5 ? n : 0);
+    }
+
+    public RatingDelta plus(RatingDelta other) {
+        return new RatingDelta(count + other.count, sum + other.sum, ones + other.ones, twos + other.twos,
+                               threes + other.threes, fours + other.fours, fives + other.fives);
+    }
+
+    public RatingDelta negate() {
+        return new RatingDelta(-count, -sum, -ones, -twos, -threes, -fours, -fives);
+    }
+
+    public boolean isZero() {
+        return this.equals(ZERO);
+    }
+}
@@ -0,0 +1,92 @@
+package com.foodrating.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Running rating aggregate. Columns are never written by entity updates; they only
+// change through the atomic increment queries in the repositories, so a concurrent
+// dish edit cannot overwrite a rating that landed in between.
+@Embeddable
+public class RatingStats {
+    @Column(name = "rating_count", nullable = false, updatable = false)
+    private long count;
+
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    private long sum;
+
+    @Column(name = "rating_1", nullable = false, updatable = false)
+    private long ones;
+
+    @Column(name = "rating_2", nullable = false, updatable = false)
+    private long twos;
+
+    @Column(name = "rating_3", nullable = false, updatable = false)
+    private long threes;
+
+    @Column(name = "rating_4", nullable = false, updatable = false)
+    private long fours;
+
+    @Column(name = "rating_5", nullable = false, updatable = false)
+    private long fives;
+
+    public RatingStats() {}
+
+    public static Double average(long count, long sum) {
+        return count == 0 ? null : (double) sum / count;
+    }
+
+    public Double getAverage() {
+        return average(count, sum);
+    }
+
+    // Whole-star value for display; falls back to the dish's seed rating until it has been rated
+    public Integer roundedAverageOr(Integer fallback) {
+        return count == 0 ? fallback : Integer.valueOf((int) Math.round((double) sum / count));
+    }
+
+    // Star value -> number of ratings with that value
+    public Map<Integer, Long> getHistogram() {
+        return histogram(ones, twos, threes, fours, fives);
+    }
+
+    public static Map<Integer, Long> histogram(long ones, long twos, long threes, long fours, long fives) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, ones);
+        histogram.put(2, twos);
+        histogram.put(3, threes);
+        histogram.put(4, fours);
+        histogram.put(5, fives);
+        return histogram;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getOnes() {
+        return ones;
+    }
+
+    public long getTwos() {
+        return twos;
+    }
+
+    public long getThrees() {
+        return threes;
+    }
+
+    public long getFours() {
+        return fours;
+    }
+
+    public long getFives() {
+        return fives;
+    }
+}
@@ -0,0 +1,8 @@
+package com.foodrating.event;
+
+import java.util.List;
+
+// Published inside the mutating transaction; name is the canteen's name after the change (null for DELETED)
+// and dishIds are the canteen's dishes at the time of the change
+public record CanteenChangedEvent(ChangeType type, Long canteenId, String name, List<Long> dishIds) {
+}
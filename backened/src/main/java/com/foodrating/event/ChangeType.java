@@ -0,0 +1,7 @@
+package com.foodrating.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,7 @@
+package com.foodrating.event;
+
+import com.foodrating.dto.DishView;
+
+// Published inside the mutating transaction; dish is the state after the change and null for DELETED
+public record DishChangedEvent(ChangeType type, Long dishId, Long canteenId, DishView dish) {
+}
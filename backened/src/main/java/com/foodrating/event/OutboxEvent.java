@@ -0,0 +1,23 @@
+package com.foodrating.event;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.foodrating.entity.OutboxEntry;
+
+import java.time.Instant;
+
+// A published catalog change as sinks receive it. Ids are unique and increase in commit order per
+// aggregate, but not across aggregates: an event can arrive after one with a higher id of another
+// aggregate. Delivery is at-least-once, so consumers remember the last id applied per aggregate
+// (aggregateType, aggregateId) and skip events at or below it; never a single global last id.
+public record OutboxEvent(long id,
+                          String aggregateType,
+                          long aggregateId,
+                          ChangeType type,
+                          Instant occurredAt,
+                          @JsonRawValue String payload) {
+
+    public static OutboxEvent from(OutboxEntry entry) {
+        return new OutboxEvent(entry.getId(), entry.getAggregateType(), entry.getAggregateId(),
+                               entry.getChangeType(), entry.getOccurredAt(), entry.getPayload());
+    }
+}
@@ -0,0 +1,11 @@
+package com.foodrating.event;
+
+import java.time.Instant;
+
+// One applied rating: previousScore and previousAt are null when the user had not rated the dish before
+public record RatingChange(Long dishId, String userId, Integer previousScore, Instant previousAt, int score, Instant ratedAt) {
+
+    public boolean isReplacement() {
+        return previousScore != null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.foodrating.event;
+
+import com.foodrating.entity.RatingDelta;
+
+import java.util.List;
+import java.util.Map;
+
+// Published once per ingestion batch with the aggregate change applied to each dish and canteen,
+// plus the individual ratings behind them
+public record RatingsRecordedEvent(Map<Long, RatingDelta> dishDeltas, Map<Long, RatingDelta> canteenDeltas,
+                                   List<RatingChange> changes) {
+}
@@ -0,0 +1,79 @@
+package com.foodrating.repository;
+
+import com.foodrating.dto.CanteenRecord;
+import com.foodrating.dto.DishRecord;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.util.function.Consumer;
+
+// Full-table reads for bulk export. Rows are handed to the consumer as they arrive: with a fetch
+// size inside a read-only transaction the PostgreSQL driver uses a server-side cursor instead of
+// materialising the whole result, so memory stays flat whatever the catalogue size.
+@Repository
+public class BulkExportRepository {
+
+    private static final String CANTEENS =
+            "SELECT id, name, location, description FROM canteens ORDER BY id";
+
+    private static final String DISHES =
+            "SELECT d.id, d.name, d.description, d.category, d.price, d.rating, d.available_date, " +
+            "d.canteen_id, c.name AS canteen_name " +
+            "FROM dishes d LEFT JOIN canteens c ON c.id = d.canteen_id ";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${foodrating.bulk.fetch-size:500}")
+    private int fetchSize;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    public void forEachCanteen(Consumer<CanteenRecord> consumer) {
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(CANTEENS, rs -> {
+            consumer.accept(new CanteenRecord(
+                    rs.getLong("id"),
+                    rs.getString("name"),
+                    rs.getString("location"),
+                    rs.getString("description")));
+        }));
+    }
+
+    // All dishes, or one canteen's menu when canteenId is given
+    public void forEachDish(Long canteenId, Consumer<DishRecord> consumer) {
+        String sql = DISHES + (canteenId == null ? "" : "WHERE d.canteen_id = ? ") + "ORDER BY d.id";
+        Object[] args = canteenId == null ? new Object[0] : new Object[] {canteenId};
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(sql, rs -> {
+            Date availableDate = rs.getDate("available_date");
+            consumer.accept(new DishRecord(
+                    rs.getLong("id"),
+                    rs.getString("name"),
+                    rs.getString("description"),
+                    rs.getString("category"),
+                    rs.getObject("price", Double.class),
+                    rs.getObject("rating", Integer.class),
+                    availableDate == null ? null : availableDate.toLocalDate(),
+                    rs.getObject("canteen_id", Long.class),
+                    rs.getString("canteen_name")));
+        }, args));
+    }
+}
@@ -1,13 +1,45 @@
 package com.foodrating.repository;
 
+import com.foodrating.dto.CanteenView;
 import com.foodrating.entity.Canteen;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CanteenRepository extends JpaRepository<Canteen, Long> {
     List<Canteen> findByNameContainingIgnoreCase(String name);
     boolean existsByName(String name);
-}
\ No newline at end of file
+    boolean existsByNameAndIdNot(String name, Long id);
+    List<Canteen> findByNameIn(Collection<String> names);
+
+    // Canteen with its whole menu in a single select
+    @EntityGraph(attributePaths = "dishes")
+    Optional<Canteen> findWithDishesById(Long id);
+
+    // Keyset pagination: seek past the last seen id instead of using OFFSET
+    @Query("SELECT new com.foodrating.dto.CanteenView(c.id, c.name, c.location, c.description, " +
+           "(SELECT COUNT(d) FROM Dish d WHERE d.canteen = c), c.ratingStats.count, c.ratingStats.sum) " +
+           "FROM Canteen c WHERE c.id > :afterId " +
+           "AND (:location IS NULL OR c.location = :location) " +
+           "ORDER BY c.id ASC")
+    List<CanteenView> findPageAfter(@Param("afterId") Long afterId,
+                                    @Param("location") String location,
+                                    Pageable pageable);
+
+    @Query("SELECT new com.foodrating.dto.CanteenView(c.id, c.name, c.location, c.description, " +
+           "(SELECT COUNT(d) FROM Dish d WHERE d.canteen = c), c.ratingStats.count, c.ratingStats.sum) " +
+           "FROM Canteen c WHERE c.id < :beforeId " +
+           "AND (:location IS NULL OR c.location = :location) " +
+           "ORDER BY c.id DESC")
+    List<CanteenView> findPageBefore(@Param("beforeId") Long beforeId,
+                                     @Param("location") String location,
+                                     Pageable pageable);
+}
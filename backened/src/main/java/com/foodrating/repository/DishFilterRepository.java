@@ -0,0 +1,189 @@
+package com.foodrating.repository;
+
+import com.foodrating.dto.CursorPage;
+import com.foodrating.dto.DishFacets;
+import com.foodrating.dto.DishFilter;
+import com.foodrating.dto.DishFilterResults;
+import com.foodrating.dto.DishView;
+import com.foodrating.dto.FacetCount;
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Composite dish filter: one keyset page of matches, and one grouped statement for the facet
+// counts. The facet query leaves out the canteen and category selections and groups by both, so
+// all four facets and the total are rolled up from its rows without further queries.
+@Repository
+public class DishFilterRepository {
+
+    // Price facet buckets, [previous break, break); the last one is open-ended
+    static final double[] PRICE_BREAKS = {50, 100, 200};
+
+    private static final int[] RATING_STEPS = {4, 3, 2, 1};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Both statements read the same snapshot, so the page, total and facets agree
+    @Transactional(readOnly = true)
+    public DishFilterResults filter(DishFilter filter, Long position, boolean descending, int size) {
+        // One extra row tells whether another page exists
+        List<DishView> rows = findPage(filter, position, descending, size + 1).stream().map(DishView::from).toList();
+        FacetedCount counts = countFacets(filter);
+        return DishFilterResults.of(CursorPage.of(rows, size, DishView::id), counts.total(), counts.facets());
+    }
+
+    // Up to limit dishes (canteens fetched) past the keyset position, in id order
+    private List<Dish> findPage(DishFilter filter, Long position, boolean descending, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Dish> query = cb.createQuery(Dish.class);
+        Root<Dish> dish = query.from(Dish.class);
+        dish.fetch("canteen", JoinType.LEFT);
+
+        Path<Long> id = dish.get("id");
+        Predicate matches = specification(filter, true).toPredicate(dish, query, cb);
+        Predicate seek = position == null ? cb.conjunction()
+                : descending ? cb.lt(id, position) : cb.gt(id, position);
+        query.select(dish)
+             .where(cb.and(matches, seek))
+             .orderBy(descending ? cb.desc(id) : cb.asc(id));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private FacetedCount countFacets(DishFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Dish> dish = query.from(Dish.class);
+        Join<Dish, Canteen> canteen = dish.join("canteen", JoinType.LEFT);
+        Path<Double> price = dish.get("price");
+
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(canteen.get("id"));
+        columns.add(canteen.get("name"));
+        columns.add(dish.get("category"));
+        columns.add(cb.count(dish));
+        for (int bucket = 0; bucket <= PRICE_BREAKS.length; bucket++) {
+            Double from = bucket == 0 ? null : PRICE_BREAKS[bucket - 1];
+            Double to = bucket == PRICE_BREAKS.length ? null : PRICE_BREAKS[bucket];
+            columns.add(countWhere(cb, DishSpecifications.priceIn(cb, price, from, to)));
+        }
+        for (int stars : RATING_STEPS) {
+            columns.add(countWhere(cb, DishSpecifications.ratedAtLeast(stars).toPredicate(dish, query, cb)));
+        }
+
+        query.multiselect(columns)
+             .where(specification(filter, false).toPredicate(dish, query, cb))
+             .groupBy(canteen.get("id"), canteen.get("name"), dish.get("category"));
+        return rollUp(filter, entityManager.createQuery(query).getResultList());
+    }
+
+    private record FacetedCount(long total, DishFacets facets) {
+    }
+
+    // Each group counts towards the category facet if its canteen is selected (or none is), towards
+    // the canteen facet if its category is selected, and towards everything else if both are
+    private static FacetedCount rollUp(DishFilter filter, List<Tuple> groups) {
+        Map<String, Long> categories = new TreeMap<>();
+        Map<Long, FacetCount> canteens = new TreeMap<>();
+        long[] prices = new long[PRICE_BREAKS.length + 1];
+        long[] ratings = new long[RATING_STEPS.length];
+        long total = 0;
+
+        for (Tuple group : groups) {
+            Long canteenId = group.get(0, Long.class);
+            String canteenName = group.get(1, String.class);
+            String category = group.get(2, String.class);
+            long count = group.get(3, Long.class);
+            boolean canteenSelected = filter.canteenIds().isEmpty() || filter.canteenIds().contains(canteenId);
+            boolean categorySelected = filter.categories().isEmpty() || filter.categories().contains(category);
+
+            if (canteenSelected && category != null) {
+                categories.merge(category, count, Long::sum);
+            }
+            if (categorySelected && canteenId != null) {
+                canteens.merge(canteenId, new FacetCount(canteenId.toString(), canteenName, count),
+                               (a, b) -> new FacetCount(a.value(), a.label(), a.count() + b.count()));
+            }
+            if (canteenSelected && categorySelected) {
+                total += count;
+                for (int i = 0; i < prices.length; i++) {
+                    prices[i] += group.get(4 + i, Number.class).longValue();
+                }
+                for (int i = 0; i < ratings.length; i++) {
+                    ratings[i] += group.get(4 + prices.length + i, Number.class).longValue();
+                }
+            }
+        }
+
+        List<FacetCount> categoryCounts = categories.entrySet().stream()
+                .map(entry -> new FacetCount(entry.getKey(), entry.getKey(), entry.getValue()))
+                .toList();
+        List<FacetCount> priceCounts = new ArrayList<>();
+        for (int i = 0; i < prices.length; i++) {
+            String from = i == 0 ? "0" : format(PRICE_BREAKS[i - 1]);
+            String to = i == PRICE_BREAKS.length ? "" : format(PRICE_BREAKS[i]);
+            String label = i == 0 ? "under " + to : to.isEmpty() ? from + " and over" : from + "-" + to;
+            priceCounts.add(new FacetCount(from + "-" + to, label, prices[i]));
+        }
+        List<FacetCount> ratingCounts = new ArrayList<>();
+        for (int i = 0; i < ratings.length; i++) {
+            ratingCounts.add(new FacetCount(Integer.toString(RATING_STEPS[i]), RATING_STEPS[i] + "+", ratings[i]));
+        }
+        DishFacets facets = new DishFacets(categoryCounts, List.copyOf(canteens.values()), priceCounts, ratingCounts);
+        return new FacetedCount(total, facets);
+    }
+
+    // withSelections false leaves out the canteen and category criteria, which the facets count around
+    private static Specification<Dish> specification(DishFilter filter, boolean withSelections) {
+        List<Specification<Dish>> parts = new ArrayList<>();
+        if (withSelections && !filter.canteenIds().isEmpty()) {
+            parts.add(DishSpecifications.inCanteens(filter.canteenIds()));
+        }
+        if (withSelections && !filter.categories().isEmpty()) {
+            parts.add(DishSpecifications.inCategories(filter.categories()));
+        }
+        if (filter.location() != null) {
+            parts.add(DishSpecifications.atLocation(filter.location()));
+        }
+        if (filter.minPrice() != null || filter.maxPrice() != null) {
+            parts.add(DishSpecifications.priceBetween(filter.minPrice(), filter.maxPrice()));
+        }
+        if (filter.minRating() != null) {
+            parts.add(DishSpecifications.ratedAtLeast(filter.minRating()));
+        }
+        if (filter.servedOn() != null) {
+            parts.add(DishSpecifications.servedOn(filter.servedOn()));
+        }
+        return (root, query, cb) -> {
+            Predicate[] predicates = parts.stream().map(part -> part.toPredicate(root, query, cb)).toArray(Predicate[]::new);
+            return cb.and(predicates);
+        };
+    }
+
+    private static Expression<Long> countWhere(CriteriaBuilder cb, Predicate condition) {
+        return cb.sum(cb.<Long>selectCase().when(condition, 1L).otherwise(0L));
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+}
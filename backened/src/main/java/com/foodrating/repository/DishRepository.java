@@ -1,14 +1,106 @@
 package com.foodrating.repository;
 
 import com.foodrating.entity.Dish;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DishRepository extends JpaRepository<Dish, Long> {
+
+    // Cached results hold whole rows, so RatingAggregateRepository clears the region when it updates dishes
+    String QUERY_CACHE_REGION = "dish-queries";
+
+    // Query cache: repeated calls with the same argument run no SQL until a dish changes
+    @EntityGraph(attributePaths = "canteen")
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     List<Dish> findByCanteenId(Long canteenId);
+
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     List<Dish> findByCategory(String category);
+
     List<Dish> findByRatingGreaterThanEqual(Integer minRating);
-}
\ No newline at end of file
+
+    // Owning canteen of each dish, without loading the dishes
+    @Query("SELECT d.id AS dishId, d.canteen.id AS canteenId FROM Dish d WHERE d.id IN :ids")
+    List<CanteenRef> findCanteenRefs(@Param("ids") Collection<Long> ids);
+
+    // Dish with its canteen summary in a single select
+    @EntityGraph(attributePaths = "canteen")
+    Optional<Dish> findWithCanteenById(Long id);
+
+    // Keyset pagination: seek past the last seen id instead of using OFFSET
+    @EntityGraph(attributePaths = "canteen")
+    @Query("SELECT d FROM Dish d WHERE d.id > :afterId " +
+           "AND (:category IS NULL OR d.category = :category) " +
+           "AND (:canteenId IS NULL OR d.canteen.id = :canteenId) " +
+           "ORDER BY d.id ASC")
+    List<Dish> findPageAfter(@Param("afterId") Long afterId,
+                             @Param("category") String category,
+                             @Param("canteenId") Long canteenId,
+                             Pageable pageable);
+
+    @EntityGraph(attributePaths = "canteen")
+    @Query("SELECT d FROM Dish d WHERE d.id < :beforeId " +
+           "AND (:category IS NULL OR d.category = :category) " +
+           "AND (:canteenId IS NULL OR d.canteen.id = :canteenId) " +
+           "ORDER BY d.id DESC")
+    List<Dish> findPageBefore(@Param("beforeId") Long beforeId,
+                              @Param("category") String category,
+                              @Param("canteenId") Long canteenId,
+                              Pageable pageable);
+
+    // Everything the leaderboard needs per dish, as flat rows
+    @Query("SELECT d.id AS id, d.name AS name, d.category AS category, d.price AS price, d.rating AS rating, " +
+           "c.id AS canteenId, c.name AS canteenName, d.ratingStats.count AS ratingCount, d.ratingStats.sum AS ratingSum " +
+           "FROM Dish d LEFT JOIN d.canteen c")
+    List<RankingRow> findRankingRows();
+
+    @Query("SELECT d.id AS id, d.name AS name, d.category AS category, d.price AS price, d.rating AS rating, " +
+           "c.id AS canteenId, c.name AS canteenName, d.ratingStats.count AS ratingCount, d.ratingStats.sum AS ratingSum " +
+           "FROM Dish d LEFT JOIN d.canteen c WHERE d.id IN :ids")
+    List<RankingRow> findRankingRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Owning canteen and single serving date of every dish, for the availability index
+    @Query("SELECT d.id AS id, d.canteen.id AS canteenId, d.availableDate AS availableDate FROM Dish d")
+    List<AvailabilityRow> findAvailabilityRows();
+
+    @Query("SELECT d.id AS id, d.canteen.id AS canteenId, d.availableDate AS availableDate FROM Dish d WHERE d.id IN :ids")
+    List<AvailabilityRow> findAvailabilityRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface CanteenRef {
+        Long getDishId();
+        Long getCanteenId();
+    }
+
+    interface AvailabilityRow {
+        Long getId();
+        Long getCanteenId();
+        LocalDate getAvailableDate();
+    }
+
+    interface RankingRow {
+        Long getId();
+        String getName();
+        String getCategory();
+        Double getPrice();
+        Integer getRating();
+        Long getCanteenId();
+        String getCanteenName();
+        long getRatingCount();
+        long getRatingSum();
+    }
+}
@@ -0,0 +1,45 @@
+package com.foodrating.repository;
+
+import com.foodrating.entity.DishSchedule;
+import com.foodrating.entity.MealSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DishScheduleRepository extends JpaRepository<DishSchedule, Long> {
+
+    @Query("SELECT s FROM DishSchedule s WHERE s.dish.id = :dishId ORDER BY s.id")
+    List<DishSchedule> findByDishId(@Param("dishId") Long dishId);
+
+    @Modifying
+    @Query("DELETE FROM DishSchedule s WHERE s.dish.id = :dishId")
+    int deleteByDishId(@Param("dishId") Long dishId);
+
+    // Every rule as flat rows, for building the availability index
+    @Query("SELECT s.dish.id AS dishId, s.mealSlot AS mealSlot, s.daysOfWeek AS daysOfWeek, " +
+           "s.startDate AS startDate, s.endDate AS endDate FROM DishSchedule s")
+    List<RuleRow> findRuleRows();
+
+    @Query("SELECT s.dish.id AS dishId, s.mealSlot AS mealSlot, s.daysOfWeek AS daysOfWeek, " +
+           "s.startDate AS startDate, s.endDate AS endDate FROM DishSchedule s WHERE s.dish.id = :dishId")
+    List<RuleRow> findRuleRowsByDishId(@Param("dishId") Long dishId);
+
+    @Query("SELECT s.dish.id AS dishId, s.mealSlot AS mealSlot, s.daysOfWeek AS daysOfWeek, " +
+           "s.startDate AS startDate, s.endDate AS endDate FROM DishSchedule s WHERE s.dish.id IN :dishIds")
+    List<RuleRow> findRuleRowsByDishIdIn(@Param("dishIds") Collection<Long> dishIds);
+
+    interface RuleRow {
+        Long getDishId();
+        MealSlot getMealSlot();
+        int getDaysOfWeek();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+    }
+}
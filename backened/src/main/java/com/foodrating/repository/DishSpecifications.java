@@ -0,0 +1,95 @@
+package com.foodrating.repository;
+
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.entity.DishSchedule;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+// Building blocks of the composite dish filter. Each one is a plain column predicate (or an
+// indexed subquery), so any combination stays a single statement the planner can serve from the
+// dish indexes: (canteen_id, id), (category, price), (price), dish_schedules (dish_id).
+public final class DishSpecifications {
+
+    private DishSpecifications() {
+    }
+
+    public static Specification<Dish> inCanteens(Collection<Long> canteenIds) {
+        return (root, query, cb) -> root.get("canteen").get("id").in(canteenIds);
+    }
+
+    public static Specification<Dish> inCategories(Collection<String> categories) {
+        return (root, query, cb) -> root.get("category").in(categories);
+    }
+
+    // Subquery rather than a join, so it composes with a fetch join of the canteen
+    public static Specification<Dish> atLocation(String location) {
+        return (root, query, cb) -> {
+            Subquery<Long> canteens = query.subquery(Long.class);
+            Root<Canteen> canteen = canteens.from(Canteen.class);
+            canteens.select(canteen.get("id")).where(cb.equal(canteen.get("location"), location));
+            return root.get("canteen").get("id").in(canteens);
+        };
+    }
+
+    // minPrice inclusive, maxPrice exclusive; either may be null
+    public static Specification<Dish> priceBetween(Double minPrice, Double maxPrice) {
+        return (root, query, cb) -> priceIn(cb, root.get("price"), minPrice, maxPrice);
+    }
+
+    // Rated dishes by their average rounded to whole stars (avg >= n - 0.5, kept in integer
+    // arithmetic), unrated ones by their seed rating: the same value DishView shows as rating
+    public static Specification<Dish> ratedAtLeast(int stars) {
+        return (root, query, cb) -> {
+            Path<Long> count = root.get("ratingStats").get("count");
+            Path<Long> sum = root.get("ratingStats").get("sum");
+            Predicate rated = cb.and(cb.gt(count, 0L),
+                                     cb.ge(cb.prod(sum, 2L), cb.prod(count, 2L * stars - 1)));
+            Predicate seeded = cb.and(cb.equal(count, 0L), cb.ge(root.get("rating"), stars));
+            return cb.or(rated, seeded);
+        };
+    }
+
+    // Same rule as the availability index: a matching schedule rule, or the availableDate of a dish without rules
+    public static Specification<Dish> servedOn(LocalDate date) {
+        return (root, query, cb) -> {
+            int dayBit = 1 << (date.getDayOfWeek().getValue() - 1);
+
+            Subquery<Long> matchingRule = query.subquery(Long.class);
+            Root<DishSchedule> rule = matchingRule.from(DishSchedule.class);
+            Expression<Integer> days = rule.get("daysOfWeek");
+            Path<LocalDate> startDate = rule.get("startDate");
+            Path<LocalDate> endDate = rule.get("endDate");
+            matchingRule.select(rule.get("id")).where(
+                    cb.equal(rule.get("dish"), root),
+                    cb.equal(cb.mod(cb.quot(days, dayBit).as(Integer.class), 2), 1),
+                    cb.or(cb.isNull(startDate), cb.lessThanOrEqualTo(startDate, date)),
+                    cb.or(cb.isNull(endDate), cb.greaterThanOrEqualTo(endDate, date)));
+
+            Subquery<Long> anyRule = query.subquery(Long.class);
+            Root<DishSchedule> existing = anyRule.from(DishSchedule.class);
+            anyRule.select(existing.get("id")).where(cb.equal(existing.get("dish"), root));
+
+            return cb.or(cb.exists(matchingRule),
+                         cb.and(cb.equal(root.get("availableDate"), date), cb.not(cb.exists(anyRule))));
+        };
+    }
+
+    static Predicate priceIn(CriteriaBuilder cb, Path<Double> price, Double minPrice, Double maxPrice) {
+        if (minPrice != null && maxPrice != null) {
+            return cb.and(cb.ge(price, minPrice), cb.lt(price, maxPrice));
+        }
+        if (minPrice != null) {
+            return cb.ge(price, minPrice);
+        }
+        return maxPrice == null ? cb.conjunction() : cb.lt(price, maxPrice);
+    }
+}
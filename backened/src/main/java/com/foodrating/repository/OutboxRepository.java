@@ -0,0 +1,32 @@
+package com.foodrating.repository;
+
+import com.foodrating.entity.OutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEntry, Long> {
+
+    // Oldest unpublished entries; OutboxPoller holds the publisher lock, so no other instance reads them concurrently
+    @Query("SELECT e FROM OutboxEntry e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<OutboxEntry> findUnpublished(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEntry e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEntry e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+
+    @Query("SELECT COUNT(e) FROM OutboxEntry e WHERE e.publishedAt IS NULL")
+    long countUnpublished();
+}
@@ -0,0 +1,88 @@
+package com.foodrating.repository;
+
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.entity.RatingDelta;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+// Applies rating deltas as atomic in-database increments, one JDBC batch per table.
+// Runs inside the caller's JPA transaction, so the aggregates commit together with the rating rows.
+// The updates bypass Hibernate, so the affected second-level cache entries are evicted here.
+@Repository
+public class RatingAggregateRepository {
+
+    private static final String INCREMENT =
+            "UPDATE %s SET rating_count = rating_count + ?, rating_sum = rating_sum + ?, " +
+            "rating_1 = rating_1 + ?, rating_2 = rating_2 + ?, rating_3 = rating_3 + ?, " +
+            "rating_4 = rating_4 + ?, rating_5 = rating_5 + ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void applyToDishes(Map<Long, RatingDelta> deltas) {
+        apply("dishes", deltas);
+        evict(Dish.class, deltas, true);
+    }
+
+    public void applyToCanteens(Map<Long, RatingDelta> deltas) {
+        apply("canteens", deltas);
+        evict(Canteen.class, deltas, false);
+    }
+
+    private void apply(String table, Map<Long, RatingDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(String.format(INCREMENT, table), deltas.entrySet(), deltas.size(),
+                                 (ps, entry) -> bind(ps, entry.getKey(), entry.getValue()));
+    }
+
+    // Evicts now and again after commit, in case a concurrent read cached the old row in between
+    private void evict(Class<?> entity, Map<Long, RatingDelta> deltas, boolean dishQueries) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(deltas.keySet());
+        Runnable eviction = () -> {
+            SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+            ids.forEach(id -> sessionFactory.getCache().evictEntityData(entity, id));
+            if (dishQueries) {
+                sessionFactory.getCache().evictQueryRegion(DishRepository.QUERY_CACHE_REGION);
+            }
+        };
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Long id, RatingDelta delta) throws SQLException {
+        ps.setLong(1, delta.count());
+        ps.setLong(2, delta.sum());
+        ps.setLong(3, delta.ones());
+        ps.setLong(4, delta.twos());
+        ps.setLong(5, delta.threes());
+        ps.setLong(6, delta.fours());
+        ps.setLong(7, delta.fives());
+        ps.setLong(8, id);
+    }
+}
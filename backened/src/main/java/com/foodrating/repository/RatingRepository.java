@@ -0,0 +1,49 @@
+package com.foodrating.repository;
+
+import com.foodrating.entity.Rating;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface RatingRepository extends JpaRepository<Rating, Long> {
+    Optional<Rating> findByDishIdAndUserId(Long dishId, String userId);
+
+    // Superset of the (dish, user) pairs in a batch; callers match the exact pairs
+    List<Rating> findByDishIdInAndUserIdIn(Collection<Long> dishIds, Collection<String> userIds);
+
+    // Scores given (or last changed) since the cut-off, without loading the rating entities
+    @Query("SELECT r.dish.id AS dishId, r.score AS score, r.updatedAt AS ratedAt FROM Rating r WHERE r.updatedAt >= :since")
+    List<RecentScore> findScoresSince(@Param("since") Instant since);
+
+    @Query("SELECT r.dish.id AS dishId, r.score AS score, r.updatedAt AS ratedAt FROM Rating r " +
+           "WHERE r.updatedAt >= :since AND r.dish.id IN :dishIds")
+    List<RecentScore> findScoresSinceByDishIdIn(@Param("since") Instant since, @Param("dishIds") Collection<Long> dishIds);
+
+    // Every (dish, user, score) triple, streamed; must run inside a transaction
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.dish.id AS dishId, r.userId AS userId, r.score AS score FROM Rating r")
+    Stream<UserScore> streamAllScores();
+
+    interface RecentScore {
+        Long getDishId();
+        Integer getScore();
+        Instant getRatedAt();
+    }
+
+    interface UserScore {
+        Long getDishId();
+        String getUserId();
+        Integer getScore();
+    }
+}
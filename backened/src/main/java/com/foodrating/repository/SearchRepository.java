@@ -0,0 +1,89 @@
+package com.foodrating.repository;
+
+import com.foodrating.config.DatabaseProduct;
+import com.foodrating.dto.SearchHit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Locale;
+
+// Ranked search across dishes and canteens. On PostgreSQL it matches the generated tsvector
+// columns (GIN) and falls back to trigram word similarity on names for typos; elsewhere (H2 in
+// tests) it runs a plain LIKE scan with a coarse name-first ranking.
+@Repository
+public class SearchRepository {
+
+    private static final String POSTGRES_SEARCH =
+            "SELECT * FROM (" +
+            "SELECT 'dish' AS type, d.id, d.name, d.category AS detail, d.canteen_id, " +
+            "ts_rank(d.search_vector, websearch_to_tsquery('english', :q)) + word_similarity(:q, d.name) AS score " +
+            "FROM dishes d " +
+            "WHERE d.search_vector @@ websearch_to_tsquery('english', :q) OR :q <% d.name " +
+            "UNION ALL " +
+            "SELECT 'canteen' AS type, c.id, c.name, c.location AS detail, c.id AS canteen_id, " +
+            "ts_rank(c.search_vector, websearch_to_tsquery('english', :q)) + word_similarity(:q, c.name) AS score " +
+            "FROM canteens c " +
+            "WHERE c.search_vector @@ websearch_to_tsquery('english', :q) OR :q <% c.name" +
+            ") hits ORDER BY score DESC, type, id LIMIT :limit OFFSET :offset";
+
+    private static final String FALLBACK_SEARCH =
+            "SELECT * FROM (" +
+            "SELECT 'dish' AS type, d.id, d.name, d.category AS detail, d.canteen_id, " +
+            "CASE WHEN LOWER(d.name) = :q THEN 3.0 WHEN LOWER(d.name) LIKE :prefix ESCAPE '\\' THEN 2.0 " +
+            "WHEN LOWER(d.name) LIKE :pattern ESCAPE '\\' THEN 1.0 ELSE 0.5 END AS score " +
+            "FROM dishes d " +
+            "WHERE LOWER(d.name) LIKE :pattern ESCAPE '\\' OR LOWER(d.category) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(d.description) LIKE :pattern ESCAPE '\\' " +
+            "UNION ALL " +
+            "SELECT 'canteen' AS type, c.id, c.name, c.location AS detail, c.id AS canteen_id, " +
+            "CASE WHEN LOWER(c.name) = :q THEN 3.0 WHEN LOWER(c.name) LIKE :prefix ESCAPE '\\' THEN 2.0 " +
+            "WHEN LOWER(c.name) LIKE :pattern ESCAPE '\\' THEN 1.0 ELSE 0.5 END AS score " +
+            "FROM canteens c " +
+            "WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\' OR LOWER(c.location) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(c.description) LIKE :pattern ESCAPE '\\'" +
+            ") hits ORDER BY score DESC, type, id LIMIT :limit OFFSET :offset";
+
+    private static final RowMapper<SearchHit> HIT_MAPPER = (rs, rowNum) -> new SearchHit(
+            rs.getString("type"),
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("detail"),
+            rs.getObject("canteen_id", Long.class),
+            rs.getDouble("score"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatabaseProduct databaseProduct;
+
+    public boolean isFullTextEnabled() {
+        return databaseProduct.isPostgres();
+    }
+
+    // Returns up to limit hits starting at offset, best match first
+    public List<SearchHit> search(String query, int offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        if (isFullTextEnabled()) {
+            params.addValue("q", query);
+            return jdbcTemplate.query(POSTGRES_SEARCH, params, HIT_MAPPER);
+        }
+
+        String term = query.toLowerCase(Locale.ROOT);
+        String escaped = escapeLike(term);
+        params.addValue("q", term)
+              .addValue("prefix", escaped + "%")
+              .addValue("pattern", "%" + escaped + "%");
+        return jdbcTemplate.query(FALLBACK_SEARCH, params, HIT_MAPPER);
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
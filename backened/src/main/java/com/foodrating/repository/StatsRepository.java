@@ -0,0 +1,92 @@
+package com.foodrating.repository;
+
+import com.foodrating.dto.CanteenStats;
+import com.foodrating.dto.CategoryStats;
+import com.foodrating.entity.RatingStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Catalogue aggregates computed by the database in one grouped pass over dishes. Ratings come from
+// the per-dish running aggregates, so the cost does not grow with the number of ratings.
+@Repository
+public class StatsRepository {
+
+    // Same rule as AvailabilityIndex: a dish with schedules is served when one of them covers the
+    // date, otherwise only on its availableDate. :dayBit is the date's bit in days_of_week.
+    private static final String SERVED_ON_DATE =
+            "CASE WHEN EXISTS (SELECT 1 FROM dish_schedules s WHERE s.dish_id = d.id " +
+            "AND MOD(s.days_of_week / :dayBit, 2) = 1 " +
+            "AND (s.start_date IS NULL OR s.start_date <= :date) " +
+            "AND (s.end_date IS NULL OR s.end_date >= :date)) " +
+            "OR (d.available_date = :date AND NOT EXISTS (SELECT 1 FROM dish_schedules s WHERE s.dish_id = d.id)) " +
+            "THEN 1 ELSE 0 END";
+
+    private static final String AGGREGATES =
+            "COUNT(d.id) AS dish_count, AVG(d.price) AS avg_price, MIN(d.price) AS min_price, MAX(d.price) AS max_price, " +
+            "COALESCE(SUM(d.rating_count), 0) AS rating_count, COALESCE(SUM(d.rating_sum), 0) AS rating_sum, " +
+            "COALESCE(SUM(d.rating_1), 0) AS rating_1, COALESCE(SUM(d.rating_2), 0) AS rating_2, " +
+            "COALESCE(SUM(d.rating_3), 0) AS rating_3, COALESCE(SUM(d.rating_4), 0) AS rating_4, " +
+            "COALESCE(SUM(d.rating_5), 0) AS rating_5, " +
+            "COALESCE(SUM(" + SERVED_ON_DATE + "), 0) AS available ";
+
+    // Canteens without dishes are listed too, with zero counts
+    private static final String BY_CANTEEN =
+            "SELECT c.id, c.name, " + AGGREGATES +
+            "FROM canteens c LEFT JOIN dishes d ON d.canteen_id = c.id " +
+            "GROUP BY c.id, c.name ORDER BY c.id";
+
+    private static final String BY_CATEGORY =
+            "SELECT d.category, COUNT(DISTINCT d.canteen_id) AS canteen_count, " + AGGREGATES +
+            "FROM dishes d " +
+            "GROUP BY d.category ORDER BY d.category";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<CanteenStats> byCanteen(LocalDate date) {
+        return jdbcTemplate.query(BY_CANTEEN, params(date), (rs, rowNum) -> new CanteenStats(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getLong("dish_count"),
+                rs.getObject("avg_price", Double.class),
+                rs.getObject("min_price", Double.class),
+                rs.getObject("max_price", Double.class),
+                rs.getLong("rating_count"),
+                RatingStats.average(rs.getLong("rating_count"), rs.getLong("rating_sum")),
+                histogram(rs),
+                rs.getLong("available")));
+    }
+
+    public List<CategoryStats> byCategory(LocalDate date) {
+        return jdbcTemplate.query(BY_CATEGORY, params(date), (rs, rowNum) -> new CategoryStats(
+                rs.getString("category"),
+                rs.getLong("dish_count"),
+                rs.getLong("canteen_count"),
+                rs.getObject("avg_price", Double.class),
+                rs.getObject("min_price", Double.class),
+                rs.getObject("max_price", Double.class),
+                rs.getLong("rating_count"),
+                RatingStats.average(rs.getLong("rating_count"), rs.getLong("rating_sum")),
+                histogram(rs),
+                rs.getLong("available")));
+    }
+
+    private static MapSqlParameterSource params(LocalDate date) {
+        return new MapSqlParameterSource()
+                .addValue("date", date)
+                .addValue("dayBit", 1 << (date.getDayOfWeek().getValue() - 1));
+    }
+
+    private static Map<Integer, Long> histogram(ResultSet rs) throws SQLException {
+        return RatingStats.histogram(rs.getLong("rating_1"), rs.getLong("rating_2"), rs.getLong("rating_3"),
+                                     rs.getLong("rating_4"), rs.getLong("rating_5"));
+    }
+}
@@ -0,0 +1,315 @@
+package com.foodrating.service;
+
+import com.foodrating.dto.DishView;
+import com.foodrating.entity.MealSlot;
+import com.foodrating.event.CanteenChangedEvent;
+import com.foodrating.event.ChangeType;
+import com.foodrating.event.DishChangedEvent;
+import com.foodrating.repository.DishRepository;
+import com.foodrating.repository.DishScheduleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Precomputed date -> canteen -> dishes served, for today and the next horizon-days days. A menu
+// read is two map lookups; the lists are immutable and replaced whole, so readers never lock.
+// A dish change recomputes only the days its old or new rules touch; dates outside the horizon
+// are evaluated from the in-memory rules on demand.
+@Component
+public class AvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    private static final Comparator<Serving> MENU_ORDER =
+            Comparator.comparingLong(Serving::dishId)
+                      .thenComparing(Serving::slot, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private DishScheduleRepository dishScheduleRepository;
+
+    @Value("${foodrating.availability.horizon-days:14}")
+    private int horizonDays;
+
+    // date -> canteen id -> servings in dish id order
+    private final ConcurrentHashMap<LocalDate, Map<Long, List<Serving>>> byDate = new ConcurrentHashMap<>();
+
+    // Guarded by lock
+    private final Map<Long, Availability> availabilities = new HashMap<>();
+    private final Object lock = new Object();
+    private volatile LocalDate firstDay;
+
+    // Guarded by pendingLock. While a load runs, events only note the dishes they touch, and the load
+    // re-reads those dishes afterwards: its snapshot may or may not include the change.
+    private final Object pendingLock = new Object();
+    private final Set<Long> pendingDishes = new HashSet<>();
+    private volatile boolean loaded;
+
+    // One dish served on a date; slot is null when it is served all day
+    public record Serving(long dishId, MealSlot slot) {
+    }
+
+    public List<Serving> servedOn(Long canteenId, LocalDate date) {
+        LocalDate first = firstDay;
+        if (loaded && first != null && !date.isBefore(first) && date.isBefore(first.plusDays(horizonDays))) {
+            Map<Long, List<Serving>> day = byDate.get(date);
+            if (day != null) {
+                return day.getOrDefault(canteenId, List.of());
+            }
+        }
+        synchronized (lock) {
+            return computeDay(date).getOrDefault(canteenId, List.of());
+        }
+    }
+
+    // Ordered ahead of StartupWarmup, whose requests read the index
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void load() {
+        synchronized (lock) {
+            synchronized (pendingLock) {
+                loaded = false;
+            }
+            availabilities.clear();
+            availabilities.putAll(read(dishRepository.findAvailabilityRows(), dishScheduleRepository.findRuleRows()));
+
+            byDate.clear();
+            firstDay = LocalDate.now();
+            for (int i = 0; i < horizonDays; i++) {
+                LocalDate date = firstDay.plusDays(i);
+                byDate.put(date, computeDay(date));
+            }
+
+            // Until a pass finds nothing new; events then apply directly
+            Set<Long> changed;
+            while (!(changed = takePending()).isEmpty()) {
+                Map<Long, Availability> current = read(dishRepository.findAvailabilityRowsByIdIn(changed),
+                                                       dishScheduleRepository.findRuleRowsByDishIdIn(changed));
+                for (Long dishId : changed) {
+                    replace(dishId, current.get(dishId));
+                }
+            }
+        }
+        log.info("Availability index loaded with {} dishes over {} days", availabilities.size(), horizonDays);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDishChanged(DishChangedEvent event) {
+        if (!appliesNow(List.of(event.dishId()))) {
+            return;
+        }
+        Availability next = null;
+        DishView dish = event.dish();
+        if (event.type() != ChangeType.DELETED && dish.canteen() != null) {
+            // A new dish has no rules yet; an updated one may have had them replaced
+            List<Rule> rules = event.type() == ChangeType.CREATED
+                    ? List.of()
+                    : dishScheduleRepository.findRuleRowsByDishId(event.dishId()).stream().map(Rule::of).toList();
+            next = new Availability(dish.canteen().id(), dish.availableDate(), rules);
+        }
+        synchronized (lock) {
+            replace(event.dishId(), next);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCanteenChanged(CanteenChangedEvent event) {
+        if (event.type() != ChangeType.DELETED || !appliesNow(event.dishIds())) {
+            return;
+        }
+        synchronized (lock) {
+            for (Long dishId : event.dishIds()) {
+                replace(dishId, null);
+            }
+        }
+    }
+
+    // Drops days that have passed and computes the ones entering the horizon
+    @Scheduled(fixedDelayString = "${foodrating.availability.roll-check-ms:60000}")
+    public void roll() {
+        if (!loaded) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        synchronized (lock) {
+            if (today.equals(firstDay)) {
+                return;
+            }
+            byDate.keySet().removeIf(date -> date.isBefore(today));
+            for (int i = 0; i < horizonDays; i++) {
+                LocalDate date = today.plusDays(i);
+                if (!byDate.containsKey(date)) {
+                    byDate.put(date, computeDay(date));
+                }
+            }
+            firstDay = today;
+        }
+    }
+
+    // False, after noting the dishes for the running load, until the index is loaded
+    private boolean appliesNow(Collection<Long> dishIds) {
+        synchronized (pendingLock) {
+            if (!loaded) {
+                pendingDishes.addAll(dishIds);
+            }
+            return loaded;
+        }
+    }
+
+    // Takes the dishes noted so far; marks the index loaded once there are none
+    private Set<Long> takePending() {
+        synchronized (pendingLock) {
+            Set<Long> changed = new HashSet<>(pendingDishes);
+            pendingDishes.clear();
+            loaded = changed.isEmpty();
+            return changed;
+        }
+    }
+
+    // Dishes without a canteen are never served
+    private static Map<Long, Availability> read(List<DishRepository.AvailabilityRow> dishes,
+                                                List<DishScheduleRepository.RuleRow> ruleRows) {
+        Map<Long, List<Rule>> rules = new HashMap<>();
+        for (DishScheduleRepository.RuleRow row : ruleRows) {
+            rules.computeIfAbsent(row.getDishId(), id -> new ArrayList<>()).add(Rule.of(row));
+        }
+        Map<Long, Availability> availability = new HashMap<>();
+        for (DishRepository.AvailabilityRow row : dishes) {
+            if (row.getCanteenId() != null) {
+                availability.put(row.getId(), new Availability(row.getCanteenId(), row.getAvailableDate(),
+                                                               List.copyOf(rules.getOrDefault(row.getId(), List.of()))));
+            }
+        }
+        return availability;
+    }
+
+    // Swaps in fresh lists for the dates and canteens the dish leaves or joins; guarded by lock
+    private void replace(Long dishId, Availability next) {
+        Availability previous = next == null ? availabilities.remove(dishId) : availabilities.put(dishId, next);
+        if (previous == null && next == null) {
+            return;
+        }
+        for (Map.Entry<LocalDate, Map<Long, List<Serving>>> day : byDate.entrySet()) {
+            LocalDate date = day.getKey();
+            boolean wasServed = previous != null && previous.servesOn(date);
+            boolean isServed = next != null && next.servesOn(date);
+            if (!wasServed && !isServed) {
+                continue;
+            }
+            Map<Long, List<Serving>> canteens = new HashMap<>(day.getValue());
+            if (wasServed) {
+                withServings(canteens, previous.canteenId(), servings -> servings.removeIf(s -> s.dishId() == dishId));
+            }
+            if (isServed) {
+                withServings(canteens, next.canteenId(), servings -> next.addServings(dishId, date, servings));
+            }
+            day.setValue(Map.copyOf(canteens));
+        }
+    }
+
+    private static void withServings(Map<Long, List<Serving>> canteens, Long canteenId,
+                                     Consumer<List<Serving>> change) {
+        List<Serving> servings = new ArrayList<>(canteens.getOrDefault(canteenId, List.of()));
+        change.accept(servings);
+        if (servings.isEmpty()) {
+            canteens.remove(canteenId);
+        } else {
+            servings.sort(MENU_ORDER);
+            canteens.put(canteenId, List.copyOf(servings));
+        }
+    }
+
+    // Full evaluation of one date over every dish; guarded by lock
+    private Map<Long, List<Serving>> computeDay(LocalDate date) {
+        Map<Long, List<Serving>> canteens = new HashMap<>();
+        for (Map.Entry<Long, Availability> entry : availabilities.entrySet()) {
+            Availability availability = entry.getValue();
+            if (availability.servesOn(date)) {
+                availability.addServings(entry.getKey(), date,
+                                         canteens.computeIfAbsent(availability.canteenId(), id -> new ArrayList<>()));
+            }
+        }
+        canteens.replaceAll((canteenId, servings) -> {
+            servings.sort(MENU_ORDER);
+            return List.copyOf(servings);
+        });
+        return Map.copyOf(canteens);
+    }
+
+    // One compiled DishSchedule row
+    private record Rule(MealSlot slot, int days, LocalDate from, LocalDate until) {
+
+        static Rule of(DishScheduleRepository.RuleRow row) {
+            return new Rule(row.getMealSlot(), row.getDaysOfWeek(), row.getStartDate(), row.getEndDate());
+        }
+
+        boolean covers(LocalDate date) {
+            return (days & (1 << (date.getDayOfWeek().getValue() - 1))) != 0
+                    && (from == null || !date.isBefore(from))
+                    && (until == null || !date.isAfter(until));
+        }
+    }
+
+    // Where a dish is served and when: by its rules, or on its single availableDate when it has none
+    private record Availability(Long canteenId, LocalDate availableDate, List<Rule> rules) {
+
+        boolean servesOn(LocalDate date) {
+            if (rules.isEmpty()) {
+                return date.equals(availableDate);
+            }
+            for (Rule rule : rules) {
+                if (rule.covers(date)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // One serving per slot; an all-day rule covers every slot
+        void addServings(long dishId, LocalDate date, List<Serving> servings) {
+            if (rules.isEmpty()) {
+                servings.add(new Serving(dishId, null));
+                return;
+            }
+            int slots = 0;
+            for (Rule rule : rules) {
+                if (rule.covers(date)) {
+                    if (rule.slot() == null) {
+                        servings.add(new Serving(dishId, null));
+                        return;
+                    }
+                    slots |= 1 << rule.slot().ordinal();
+                }
+            }
+            for (MealSlot slot : MealSlot.values()) {
+                if ((slots & (1 << slot.ordinal())) != 0) {
+                    servings.add(new Serving(dishId, slot));
+                }
+            }
+        }
+    }
+}
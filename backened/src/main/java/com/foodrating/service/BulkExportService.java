@@ -0,0 +1,148 @@
+package com.foodrating.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.foodrating.dto.CanteenRecord;
+import com.foodrating.dto.DishRecord;
+import com.foodrating.repository.BulkExportRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+// Writes exports straight from the database cursor to the response, one row at a time, in the
+// same NDJSON/CSV shapes the importer reads back, or as one JSON/CBOR/Smile array
+@Service
+public class BulkExportService {
+
+    @Autowired
+    private BulkExportRepository bulkExportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+
+    @PostConstruct
+    void createBinaryMappers() {
+        cborMapper = objectMapper.copyWith(new CBORFactory());
+        smileMapper = objectMapper.copyWith(new SmileFactory());
+    }
+
+    public void exportCanteens(OutputStream out, BulkFormat format) throws IOException {
+        try (RowWriter<CanteenRecord> writer = writer(out, format, CanteenRecord.CSV_COLUMNS, CanteenRecord::csvValues)) {
+            bulkExportRepository.forEachCanteen(writer::write);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void exportDishes(OutputStream out, BulkFormat format, Long canteenId) throws IOException {
+        try (RowWriter<DishRecord> writer = writer(out, format, DishRecord.CSV_COLUMNS, DishRecord::csvValues)) {
+            bulkExportRepository.forEachDish(canteenId, writer::write);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> RowWriter<T> writer(OutputStream out, BulkFormat format, String[] columns,
+                                    Function<T, Object[]> csvValues) throws IOException {
+        return switch (format) {
+            case NDJSON, CSV -> new LineWriter<>(out, format, columns, csvValues);
+            case JSON -> new ArrayWriter<>(out, objectMapper);
+            case CBOR -> new ArrayWriter<>(out, cborMapper);
+            case SMILE -> new ArrayWriter<>(out, smileMapper);
+        };
+    }
+
+    private interface RowWriter<T> extends AutoCloseable {
+
+        // Called from inside the JDBC row callback, hence unchecked
+        void write(T row);
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private final class LineWriter<T> implements RowWriter<T> {
+
+        private final Writer writer;
+        private final BulkFormat format;
+        private final Function<T, Object[]> csvValues;
+        private final StringBuilder line = new StringBuilder();
+
+        LineWriter(OutputStream out, BulkFormat format, String[] columns, Function<T, Object[]> csvValues) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.format = format;
+            this.csvValues = csvValues;
+            if (format == BulkFormat.CSV) {
+                CsvCodec.write(line, columns);
+                flushLine();
+            }
+        }
+
+        @Override
+        public void write(T row) {
+            try {
+                if (format == BulkFormat.CSV) {
+                    CsvCodec.write(line, csvValues.apply(row));
+                } else {
+                    line.append(objectMapper.writeValueAsString(row)).append('\n');
+                }
+                flushLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void flushLine() throws IOException {
+            writer.write(line.toString());
+            line.setLength(0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    // A single array written through a streaming generator: each row is encoded into the
+    // generator's buffer as it arrives, so the list is never held in memory
+    private static final class ArrayWriter<T> implements RowWriter<T> {
+
+        private final JsonGenerator generator;
+
+        ArrayWriter(OutputStream out, ObjectMapper mapper) throws IOException {
+            this.generator = mapper.getFactory().createGenerator(out);
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+        }
+
+        @Override
+        public void write(T row) {
+            try {
+                generator.writeObject(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeEndArray();
+            generator.close();
+        }
+    }
+}
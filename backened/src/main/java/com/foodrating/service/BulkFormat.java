@@ -0,0 +1,51 @@
+package com.foodrating.service;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+// Wire formats of the bulk endpoints: one JSON object per line, or CSV with a header row. Exports
+// can also be a single array in JSON, CBOR or Smile.
+public enum BulkFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson", true),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv", true),
+    JSON(MediaType.APPLICATION_JSON, "json", false),
+    CBOR(MediaType.parseMediaType("application/cbor"), "cbor", false),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"), "sml", false);
+
+    private final MediaType mediaType;
+    private final String extension;
+    private final boolean importable;
+
+    BulkFormat(MediaType mediaType, String extension, boolean importable) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+        this.importable = importable;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // Line-oriented formats the importer can read row by row
+    public boolean isImportable() {
+        return importable;
+    }
+
+    public static BulkFormat fromContentType(MediaType contentType) {
+        for (BulkFormat format : values()) {
+            if (format.importable && format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type " + contentType);
+    }
+
+    public static BulkFormat fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
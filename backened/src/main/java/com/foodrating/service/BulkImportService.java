@@ -0,0 +1,250 @@
+package com.foodrating.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodrating.dto.CanteenRecord;
+import com.foodrating.dto.DishRecord;
+import com.foodrating.dto.DishView;
+import com.foodrating.dto.ImportReport;
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.event.CanteenChangedEvent;
+import com.foodrating.event.ChangeType;
+import com.foodrating.event.DishChangedEvent;
+import com.foodrating.repository.CanteenRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Streaming bulk import. Rows are parsed and validated one at a time and written in batches of
+// batch-size, each batch in its own transaction: Hibernate sends the inserts as JDBC batches
+// (pooled sequence ids), then the persistence context is cleared. A failed batch does not undo
+// the batches before it; every rejected row is reported with its line number.
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${foodrating.bulk.batch-size:500}")
+    private int batchSize;
+
+    public ImportReport importCanteens(InputStream body, BulkFormat format) throws IOException {
+        return importRows(body, format, CanteenRecord.class, this::writeCanteens);
+    }
+
+    public ImportReport importDishes(InputStream body, BulkFormat format) throws IOException {
+        return importRows(body, format, DishRecord.class, this::writeDishes);
+    }
+
+    private <T> ImportReport importRows(InputStream body, BulkFormat format, Class<T> type, BatchWriter<T> writer)
+            throws IOException {
+        Progress progress = new Progress();
+        List<RowReader.Row<T>> batch = new ArrayList<>(batchSize);
+        try (RowReader<T> reader = new RowReader<>(body, format, type, objectMapper)) {
+            RowReader.Row<T> row;
+            while ((row = reader.next()) != null) {
+                progress.received++;
+                String error = row.error() != null ? row.error() : validate(row.value());
+                if (error != null) {
+                    progress.reject(row.line(), error);
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, writer, progress);
+                }
+            }
+        }
+        writeBatch(batch, writer, progress);
+        return progress.toReport();
+    }
+
+    private <T> void writeBatch(List<RowReader.Row<T>> batch, BatchWriter<T> writer, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                writer.write(batch, progress);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (DataAccessException | PersistenceException e) {
+            // The whole batch rolled back: rows the writer accepted are reported as failed too
+            log.warn("Bulk import batch of {} rows failed", batch.size(), e);
+            progress.imported -= progress.batchImported;
+            for (RowReader.Row<T> row : batch) {
+                if (!progress.batchRejected.contains(row.line())) {
+                    progress.reject(row.line(), "Batch failed: " + rootMessage(e));
+                }
+            }
+        } finally {
+            progress.batchImported = 0;
+            progress.batchRejected.clear();
+            batch.clear();
+        }
+    }
+
+    // Names already taken, in the database or earlier in this batch, are rejected row by row
+    private void writeCanteens(List<RowReader.Row<CanteenRecord>> batch, Progress progress) {
+        Set<String> names = batch.stream().map(row -> row.value().name()).collect(Collectors.toSet());
+        Set<String> taken = canteenRepository.findByNameIn(names).stream()
+                .map(Canteen::getName)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<Canteen> created = new ArrayList<>();
+        for (RowReader.Row<CanteenRecord> row : batch) {
+            CanteenRecord record = row.value();
+            if (!taken.add(record.name())) {
+                progress.reject(row.line(), "Canteen with this name already exists: " + record.name());
+                continue;
+            }
+            Canteen canteen = new Canteen(record.name(), record.location(), record.description());
+            entityManager.persist(canteen);
+            created.add(canteen);
+            progress.imported();
+        }
+
+        for (Canteen canteen : created) {
+            eventPublisher.publishEvent(new CanteenChangedEvent(ChangeType.CREATED, canteen.getId(), canteen.getName(), List.of()));
+        }
+    }
+
+    // Canteens are resolved for the whole batch in two queries, by id and by name
+    private void writeDishes(List<RowReader.Row<DishRecord>> batch, Progress progress) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (RowReader.Row<DishRecord> row : batch) {
+            if (row.value().canteenId() != null) {
+                ids.add(row.value().canteenId());
+            } else {
+                names.add(row.value().canteenName());
+            }
+        }
+        Map<Long, Canteen> byId = new HashMap<>();
+        canteenRepository.findAllById(ids).forEach(canteen -> byId.put(canteen.getId(), canteen));
+        Map<String, Canteen> byName = new HashMap<>();
+        if (!names.isEmpty()) {
+            canteenRepository.findByNameIn(names).forEach(canteen -> byName.put(canteen.getName(), canteen));
+        }
+
+        List<Dish> created = new ArrayList<>();
+        for (RowReader.Row<DishRecord> row : batch) {
+            DishRecord record = row.value();
+            Canteen canteen = record.canteenId() != null ? byId.get(record.canteenId()) : byName.get(record.canteenName());
+            if (canteen == null) {
+                progress.reject(row.line(), "Unknown canteen: " +
+                        (record.canteenId() != null ? record.canteenId() : record.canteenName()));
+                continue;
+            }
+            Dish dish = new Dish(record.name(), record.description(), record.category(),
+                                 record.price() == null ? 0.0 : record.price(),
+                                 record.rating() == null ? 1 : record.rating());
+            if (record.availableDate() != null) {
+                dish.setAvailableDate(record.availableDate());
+            }
+            dish.setCanteen(canteen);
+            entityManager.persist(dish);
+            created.add(dish);
+            progress.imported();
+        }
+
+        for (Dish dish : created) {
+            DishView view = DishView.from(dish);
+            eventPublisher.publishEvent(new DishChangedEvent(ChangeType.CREATED, view.id(), view.canteen().id(), view));
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private String validate(Object value) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(value);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter<T> {
+        void write(List<RowReader.Row<T>> batch, Progress progress);
+    }
+
+    private static final class Progress {
+        long received;
+        long imported;
+        long failed;
+        long batchImported;
+        final Set<Long> batchRejected = new HashSet<>();
+        final List<ImportReport.RowError> errors = new ArrayList<>();
+        boolean truncated;
+
+        void imported() {
+            imported++;
+            batchImported++;
+        }
+
+        void reject(long line, String message) {
+            failed++;
+            batchRejected.add(line);
+            if (errors.size() < ImportReport.MAX_ERRORS) {
+                errors.add(new ImportReport.RowError(line, message));
+            } else {
+                truncated = true;
+            }
+        }
+
+        ImportReport toReport() {
+            // Parse errors are found while reading, write errors when a batch is flushed
+            errors.sort(Comparator.comparingLong(ImportReport.RowError::line));
+            return new ImportReport(received, imported, failed, List.copyOf(errors), truncated);
+        }
+    }
+}
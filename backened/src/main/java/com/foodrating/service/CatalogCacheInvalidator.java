@@ -0,0 +1,59 @@
+package com.foodrating.service;
+
+import com.foodrating.config.CacheConfig;
+import com.foodrating.event.CanteenChangedEvent;
+import com.foodrating.event.DishChangedEvent;
+import com.foodrating.event.RatingsRecordedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+
+// Evicts exactly the cache entries a change can affect, once the change has committed
+@Component
+public class CatalogCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDishChanged(DishChangedEvent event) {
+        evict(CacheConfig.DISHES, event.dishId());
+        if (event.canteenId() != null) {
+            evict(CacheConfig.MENUS, event.canteenId());
+            evict(CacheConfig.CANTEENS, event.canteenId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCanteenChanged(CanteenChangedEvent event) {
+        evict(CacheConfig.CANTEENS, event.canteenId());
+        evict(CacheConfig.MENUS, event.canteenId());
+        // Cached dishes embed the canteen summary
+        evictAll(CacheConfig.DISHES, event.dishIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingsRecorded(RatingsRecordedEvent event) {
+        evictAll(CacheConfig.DISHES, event.dishDeltas().keySet());
+        // Menus and canteen pages show per-dish averages, so every canteen with a rated dish is stale
+        evictAll(CacheConfig.MENUS, event.canteenDeltas().keySet());
+        evictAll(CacheConfig.CANTEENS, event.canteenDeltas().keySet());
+    }
+
+    private void evictAll(String cacheName, Collection<Long> keys) {
+        for (Long key : keys) {
+            evict(cacheName, key);
+        }
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.foodrating.service;
+
+import com.foodrating.config.CacheConfig;
+import com.foodrating.dto.CanteenMenu;
+import com.foodrating.dto.DishScheduleView;
+import com.foodrating.dto.DishView;
+import com.foodrating.dto.MenuItem;
+import com.foodrating.dto.ScheduleEntry;
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.entity.DishSchedule;
+import com.foodrating.entity.RatingDelta;
+import com.foodrating.event.CanteenChangedEvent;
+import com.foodrating.event.ChangeType;
+import com.foodrating.event.DishChangedEvent;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.repository.DishRepository;
+import com.foodrating.repository.DishScheduleRepository;
+import com.foodrating.repository.RatingAggregateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+// Reads are served through the Caffeine caches; every mutation publishes a change event inside its
+// transaction, which CatalogCacheInvalidator turns into precise evictions after commit.
+@Service
+public class CatalogService {
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    @Autowired
+    private RatingAggregateRepository ratingAggregateRepository;
+
+    @Autowired
+    private DishScheduleRepository dishScheduleRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Cacheable(cacheNames = CacheConfig.DISHES, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<DishView> findDish(Long id) {
+        return dishRepository.findWithCanteenById(id).map(DishView::from);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.MENUS)
+    @Transactional(readOnly = true)
+    public List<DishView> findMenu(Long canteenId) {
+        return dishRepository.findByCanteenId(canteenId).stream()
+                .map(DishView::from)
+                .toList();
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CANTEENS, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<CanteenMenu> findCanteen(Long id) {
+        return canteenRepository.findWithDishesById(id).map(CanteenMenu::from);
+    }
+
+    // The dish's canteen must already be loaded (managed) by the caller
+    @Transactional
+    public DishView createDish(Dish dish) {
+        Dish savedDish = dishRepository.save(dish);
+        DishView view = DishView.from(savedDish);
+        eventPublisher.publishEvent(new DishChangedEvent(ChangeType.CREATED, view.id(), view.canteen().id(), view));
+        return view;
+    }
+
+    // expectedVersion is checked against the loaded version; the flush then re-checks it in the database
+    @Transactional
+    public Optional<DishView> updateDish(Long id, Dish dishDetails, Predicate<Long> expectedVersion) {
+        Optional<Dish> optionalDish = dishRepository.findWithCanteenById(id);
+        if (optionalDish.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Dish dish = optionalDish.get();
+        if (!expectedVersion.test(dish.getVersion())) {
+            throw new OptimisticLockingFailureException("Dish " + id + " is at version " + dish.getVersion());
+        }
+
+        dish.setName(dishDetails.getName());
+        dish.setDescription(dishDetails.getDescription());
+        dish.setCategory(dishDetails.getCategory());
+        dish.setPrice(dishDetails.getPrice());
+        // rating is only the initial value shown until real ratings arrive; once the dish has any, the
+        // aggregate is authoritative and a client-sent value (often just the rounded average it read) is ignored
+        if (dishDetails.getRating() != null && dish.getRatingStats().getCount() == 0) {
+            dish.setRating(dishDetails.getRating());
+        }
+        dish.setAvailableDate(dishDetails.getAvailableDate());
+
+        // Flush now so the response carries the incremented version
+        Dish updatedDish = dishRepository.saveAndFlush(dish);
+        DishView view = DishView.from(updatedDish);
+        eventPublisher.publishEvent(new DishChangedEvent(ChangeType.UPDATED, id, view.canteen().id(), view));
+        return Optional.of(view);
+    }
+
+    // Deletes a dish and withdraws its ratings from the canteen aggregate; the rating rows go with the dish (ON DELETE CASCADE).
+    // expectedVersion is checked against the loaded version before the version-checked delete.
+    @Transactional
+    public boolean deleteDish(Long id, Predicate<Long> expectedVersion) {
+        Optional<Dish> optionalDish = dishRepository.findWithCanteenById(id);
+        if (optionalDish.isEmpty()) {
+            return false;
+        }
+
+        Dish dish = optionalDish.get();
+        if (!expectedVersion.test(dish.getVersion())) {
+            throw new OptimisticLockingFailureException("Dish " + id + " is at version " + dish.getVersion());
+        }
+
+        Long canteenId = dish.getCanteen() == null ? null : dish.getCanteen().getId();
+        RatingDelta withdrawn = RatingDelta.of(dish.getRatingStats()).negate();
+        dishRepository.delete(dish);
+        if (!withdrawn.isZero() && canteenId != null) {
+            ratingAggregateRepository.applyToCanteens(Map.of(canteenId, withdrawn));
+        }
+        eventPublisher.publishEvent(new DishChangedEvent(ChangeType.DELETED, id, canteenId, null));
+        return true;
+    }
+
+    @Transactional
+    public CanteenMenu createCanteen(Canteen canteen) {
+        Canteen savedCanteen = canteenRepository.saveAndFlush(canteen);
+        CanteenMenu menu = CanteenMenu.from(savedCanteen);
+        eventPublisher.publishEvent(new CanteenChangedEvent(ChangeType.CREATED, menu.id(), menu.name(), dishIds(menu)));
+        return menu;
+    }
+
+    @Transactional
+    public Optional<CanteenMenu> updateCanteen(Long id, Canteen canteenDetails, Predicate<Long> expectedVersion) {
+        Optional<Canteen> optionalCanteen = canteenRepository.findWithDishesById(id);
+        if (optionalCanteen.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Canteen canteen = optionalCanteen.get();
+        if (!expectedVersion.test(canteen.getVersion())) {
+            throw new OptimisticLockingFailureException("Canteen " + id + " is at version " + canteen.getVersion());
+        }
+
+        canteen.setName(canteenDetails.getName());
+        canteen.setLocation(canteenDetails.getLocation());
+        canteen.setDescription(canteenDetails.getDescription());
+
+        Canteen updatedCanteen = canteenRepository.saveAndFlush(canteen);
+        CanteenMenu menu = CanteenMenu.from(updatedCanteen);
+        eventPublisher.publishEvent(new CanteenChangedEvent(ChangeType.UPDATED, id, menu.name(), dishIds(menu)));
+        return Optional.of(menu);
+    }
+
+    // Version-checked delete; the canteen's dishes are removed with it (cascade)
+    @Transactional
+    public boolean deleteCanteen(Long id, Predicate<Long> expectedVersion) {
+        Optional<Canteen> optionalCanteen = canteenRepository.findWithDishesById(id);
+        if (optionalCanteen.isEmpty()) {
+            return false;
+        }
+
+        Canteen canteen = optionalCanteen.get();
+        if (!expectedVersion.test(canteen.getVersion())) {
+            throw new OptimisticLockingFailureException("Canteen " + id + " is at version " + canteen.getVersion());
+        }
+
+        List<Long> dishIds = canteen.getDishes().stream().map(Dish::getId).toList();
+        canteenRepository.delete(canteen);
+        eventPublisher.publishEvent(new CanteenChangedEvent(ChangeType.DELETED, id, null, dishIds));
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<DishScheduleView> findSchedule(Long dishId) {
+        if (!dishRepository.existsById(dishId)) {
+            return Optional.empty();
+        }
+        return Optional.of(new DishScheduleView(dishId, ScheduleEntry.fromAll(dishScheduleRepository.findByDishId(dishId))));
+    }
+
+    // Replaces all of the dish's availability rules; the change event lets AvailabilityIndex re-read them after commit
+    @Transactional
+    public Optional<DishScheduleView> replaceSchedule(Long dishId, List<ScheduleEntry> rules) {
+        Optional<Dish> optionalDish = dishRepository.findWithCanteenById(dishId);
+        if (optionalDish.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Dish dish = optionalDish.get();
+        dishScheduleRepository.deleteByDishId(dishId);
+        List<DishSchedule> schedules = rules.stream()
+                .map(rule -> new DishSchedule(dish, rule.slot(), DishSchedule.maskOf(rule.days()), rule.from(), rule.until()))
+                .toList();
+        List<DishSchedule> saved = dishScheduleRepository.saveAll(schedules);
+
+        DishView view = DishView.from(dish);
+        eventPublisher.publishEvent(new DishChangedEvent(ChangeType.UPDATED, dishId, view.canteen().id(), view));
+        return Optional.of(new DishScheduleView(dishId, ScheduleEntry.fromAll(saved)));
+    }
+
+    private static List<Long> dishIds(CanteenMenu menu) {
+        return menu.dishes().stream().map(MenuItem::id).toList();
+    }
+}
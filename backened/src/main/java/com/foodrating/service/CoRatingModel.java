@@ -0,0 +1,548 @@
+package com.foodrating.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+// Sparse dish x user score matrix and the item-item neighbour lists derived from it. Dishes and users
+// are interned to dense int indexes, and every rating is one packed int (index << 3 | score) in both
+// the dish's row and the user's row, so the matrix holds no boxed values and no per-rating objects.
+// Similarity is cosine over scores centred on the neutral 3 (liking and disliking both count), shrunk
+// towards zero when few users rated both dishes. Only dishes whose ratings changed are recomputed; their
+// new similarities are merged into the other dishes' lists.
+//
+// Any number of threads may read; mutations (rate, removeDish, refresh) must not run concurrently.
+public final class CoRatingModel {
+
+    // Significance weighting: a pair co-rated by n users keeps n / (n + SHRINKAGE) of its cosine
+    private static final double SHRINKAGE = 10.0;
+
+    // Rows are independent: refreshes touching at least this many dishes (the initial build, a bulk
+    // import) are computed on the common fork-join pool
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private static final int NEUTRAL_SCORE = 3;
+    private static final int[] EMPTY = new int[0];
+    private static final float[] NO_SIMILARITIES = new float[0];
+
+    public record ScoredDish(long dishId, double score) {
+    }
+
+    private final int neighbours;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock for readers; only mutations write them
+    private final Map<Long, Integer> dishIndex = new HashMap<>();
+    private final Map<String, Integer> userIndex = new HashMap<>();
+    private long[] dishIds = new long[1024];
+    private int[][] dishRows = new int[1024][];
+    private int[] dishRowSizes = new int[1024];
+    // Sum of squared centred scores, the square of the dish vector's norm
+    private int[] sumSquares = new int[1024];
+    private int[][] neighbourDishes = new int[1024][];
+    private float[][] neighbourSimilarities = new float[1024][];
+    private int[][] userRows = new int[1024][];
+    private int[] userRowSizes = new int[1024];
+    private int dishCount;
+    private int userCount;
+    private long ratingCount;
+
+    // Used by mutations only
+    private final BitSet dirty = new BitSet();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public CoRatingModel(int neighbours) {
+        if (neighbours < 1) {
+            throw new IllegalArgumentException("neighbours must be positive");
+        }
+        this.neighbours = neighbours;
+    }
+
+    // Sets the user's score for the dish, replacing an earlier one
+    public void rate(long dishId, String userId, int score) {
+        if (score < 1 || score > 5) {
+            throw new IllegalArgumentException("score must be between 1 and 5");
+        }
+        lock.writeLock().lock();
+        try {
+            int dish = internDish(dishId);
+            int user = internUser(userId);
+            int[] row = userRows[user];
+            for (int i = 0; i < userRowSizes[user]; i++) {
+                if (row[i] >>> 3 == dish) {
+                    int previous = row[i] & 7;
+                    if (previous == score) {
+                        return;
+                    }
+                    row[i] = pack(dish, score);
+                    replaceInDishRow(dish, user, score);
+                    sumSquares[dish] += square(score) - square(previous);
+                    dirty.set(dish);
+                    return;
+                }
+            }
+            appendToUserRow(user, pack(dish, score));
+            appendToDishRow(dish, pack(user, score));
+            sumSquares[dish] += square(score);
+            ratingCount++;
+            dirty.set(dish);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Forgets the dish's ratings and takes it out of every neighbour list
+    public void removeDish(long dishId) {
+        lock.writeLock().lock();
+        try {
+            Integer index = dishIndex.remove(dishId);
+            if (index == null) {
+                return;
+            }
+            int dish = index;
+            int[] row = dishRows[dish];
+            for (int i = 0; i < dishRowSizes[dish]; i++) {
+                removeFromUserRow(row[i] >>> 3, dish);
+            }
+            ratingCount -= dishRowSizes[dish];
+            dishRows[dish] = null;
+            dishRowSizes[dish] = 0;
+            sumSquares[dish] = 0;
+            neighbourDishes[dish] = null;
+            neighbourSimilarities[dish] = null;
+            dirty.clear(dish);
+
+            for (int other = 0; other < dishCount; other++) {
+                int position = positionOf(other, dish);
+                if (position >= 0) {
+                    // The list is one short now; recomputing finds the dish that moves up
+                    removeNeighbour(other, position);
+                    dirty.set(other);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Recomputes the neighbour lists of every dish rated since the last refresh. The computation reads
+    // the matrix without locking (nothing else changes it meanwhile); readers are locked out only while the
+    // results are installed. Returns the number of dishes recomputed.
+    public int refresh() {
+        BitSet changed = (BitSet) dirty.clone();
+        dirty.clear();
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        IntStream dishes = changed.stream();
+        if (changed.cardinality() >= PARALLEL_THRESHOLD) {
+            dishes = dishes.parallel();
+        }
+        List<Row> rows = dishes.mapToObj(dish -> computeRow(dish, changed)).toList();
+
+        lock.writeLock().lock();
+        try {
+            for (Row row : rows) {
+                neighbourDishes[row.dish] = row.topDishes;
+                neighbourSimilarities[row.dish] = row.topSimilarities;
+            }
+            // Dishes that were not recomputed only need this round's dishes moved within their lists
+            for (Row row : rows) {
+                for (int i = 0; i < row.otherDishes.length; i++) {
+                    merge(row.otherDishes[i], row.dish, row.otherSimilarities[i]);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rows.size();
+    }
+
+    // The dish's nearest neighbours, most similar first
+    public List<ScoredDish> similar(long dishId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer dish = dishIndex.get(dishId);
+            if (dish == null || neighbourDishes[dish] == null) {
+                return List.of();
+            }
+            int[] dishes = neighbourDishes[dish];
+            float[] similarities = neighbourSimilarities[dish];
+            int size = Math.min(limit, dishes.length);
+            List<ScoredDish> similar = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                similar.add(new ScoredDish(dishIds[dishes[i]], similarities[i]));
+            }
+            return similar;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Dishes the user has not rated, scored by the similarity-weighted (centred) scores the user gave
+    // to their neighbours: neighbours of liked dishes gain, neighbours of disliked dishes lose
+    public List<ScoredDish> recommend(String userId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer user = userIndex.get(userId);
+            if (user == null) {
+                return List.of();
+            }
+            int[] row = userRows[user];
+            int size = userRowSizes[user];
+            double[] scores = new double[dishCount];
+            boolean[] seen = new boolean[dishCount];
+            boolean[] excluded = new boolean[dishCount];
+            for (int i = 0; i < size; i++) {
+                excluded[row[i] >>> 3] = true;
+            }
+
+            int[] candidates = new int[Math.min(dishCount, size * neighbours)];
+            int candidateCount = 0;
+            for (int i = 0; i < size; i++) {
+                int dish = row[i] >>> 3;
+                int weight = centred(row[i] & 7);
+                int[] dishes = neighbourDishes[dish];
+                if (weight == 0 || dishes == null) {
+                    continue;
+                }
+                float[] similarities = neighbourSimilarities[dish];
+                for (int j = 0; j < dishes.length; j++) {
+                    int candidate = dishes[j];
+                    if (excluded[candidate]) {
+                        continue;
+                    }
+                    if (!seen[candidate]) {
+                        seen[candidate] = true;
+                        candidates[candidateCount++] = candidate;
+                    }
+                    scores[candidate] += weight * similarities[j];
+                }
+            }
+
+            int[] top = new int[Math.min(limit, candidateCount)];
+            int topCount = 0;
+            for (int i = 0; i < candidateCount; i++) {
+                int candidate = candidates[i];
+                if (scores[candidate] <= 0.0) {
+                    continue;
+                }
+                topCount = insert(top, topCount, candidate, scores);
+            }
+            List<ScoredDish> recommended = new ArrayList<>(topCount);
+            for (int i = 0; i < topCount; i++) {
+                recommended.add(new ScoredDish(dishIds[top[i]], scores[top[i]]));
+            }
+            return recommended;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int dishCount() {
+        lock.readLock().lock();
+        try {
+            return dishIndex.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int userCount() {
+        lock.readLock().lock();
+        try {
+            return userCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long ratingCount() {
+        lock.readLock().lock();
+        try {
+            return ratingCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Similarities of one dish to every dish sharing a rater: the top few become its list, and those
+    // for dishes outside this round are kept to merge into theirs
+    private Row computeRow(int dish, BitSet recomputed) {
+        Scratch work = scratch.get();
+        work.ensureCapacity(dishCount);
+        int[] dots = work.dots;
+        int[] supports = work.supports;
+        int[] touched = work.touched;
+        int touchedCount = 0;
+        int[] row = dishRows[dish];
+        for (int i = 0; i < dishRowSizes[dish]; i++) {
+            int user = row[i] >>> 3;
+            int weight = centred(row[i] & 7);
+            int[] ratings = userRows[user];
+            for (int j = 0; j < userRowSizes[user]; j++) {
+                int other = ratings[j] >>> 3;
+                if (other == dish) {
+                    continue;
+                }
+                if (supports[other]++ == 0) {
+                    touched[touchedCount++] = other;
+                }
+                dots[other] += weight * centred(ratings[j] & 7);
+            }
+        }
+
+        double norm = Math.sqrt(sumSquares[dish]);
+        int[] topDishes = new int[Math.min(neighbours, touchedCount)];
+        float[] topSimilarities = new float[topDishes.length];
+        int topCount = 0;
+        int[] otherDishes = work.otherDishes;
+        float[] otherSimilarities = work.otherSimilarities;
+        int otherCount = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int other = touched[i];
+            float similarity = 0f;
+            if (norm > 0 && sumSquares[other] > 0) {
+                int support = supports[other];
+                similarity = (float) (dots[other] / (norm * Math.sqrt(sumSquares[other])) * support / (support + SHRINKAGE));
+            }
+            dots[other] = 0;
+            supports[other] = 0;
+
+            if (similarity > 0f) {
+                topCount = insert(topDishes, topSimilarities, topCount, other, similarity);
+            }
+            if (!recomputed.get(other)) {
+                otherDishes[otherCount] = other;
+                otherSimilarities[otherCount++] = similarity;
+            }
+        }
+        return new Row(dish,
+                       topCount == topDishes.length ? topDishes : Arrays.copyOf(topDishes, topCount),
+                       topCount == topSimilarities.length ? topSimilarities : Arrays.copyOf(topSimilarities, topCount),
+                       Arrays.copyOf(otherDishes, otherCount),
+                       Arrays.copyOf(otherSimilarities, otherCount));
+    }
+
+    // Puts the changed dish's new similarity into another dish's list. Exact unless the dish falls to
+    // the end of a full list (or out of it): something outside may now rank higher, so that list is
+    // recomputed on the next refresh.
+    private void merge(int dish, int changed, float similarity) {
+        if (neighbourDishes[dish] == null) {
+            neighbourDishes[dish] = EMPTY;
+            neighbourSimilarities[dish] = NO_SIMILARITIES;
+        }
+        int length = neighbourDishes[dish].length;
+        boolean full = length == neighbours;
+        int position = positionOf(dish, changed);
+        if (position >= 0) {
+            float previous = neighbourSimilarities[dish][position];
+            removeNeighbour(dish, position);
+            if (similarity <= 0f) {
+                if (full) {
+                    dirty.set(dish);
+                }
+                return;
+            }
+            int inserted = insertNeighbour(dish, changed, similarity);
+            if (full && similarity < previous && inserted == length - 1) {
+                dirty.set(dish);
+            }
+        } else if (similarity > 0f && (!full || similarity > neighbourSimilarities[dish][length - 1])) {
+            if (full) {
+                removeNeighbour(dish, length - 1);
+            }
+            insertNeighbour(dish, changed, similarity);
+        }
+    }
+
+    private int positionOf(int dish, int neighbour) {
+        int[] dishes = neighbourDishes[dish];
+        if (dishes == null) {
+            return -1;
+        }
+        for (int i = 0; i < dishes.length; i++) {
+            if (dishes[i] == neighbour) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Lists are replaced, never changed in place, so a reader holding the old arrays sees a consistent pair
+    private void removeNeighbour(int dish, int position) {
+        int[] dishes = neighbourDishes[dish];
+        float[] similarities = neighbourSimilarities[dish];
+        int[] keptDishes = new int[dishes.length - 1];
+        float[] keptSimilarities = new float[dishes.length - 1];
+        System.arraycopy(dishes, 0, keptDishes, 0, position);
+        System.arraycopy(dishes, position + 1, keptDishes, position, dishes.length - position - 1);
+        System.arraycopy(similarities, 0, keptSimilarities, 0, position);
+        System.arraycopy(similarities, position + 1, keptSimilarities, position, similarities.length - position - 1);
+        neighbourDishes[dish] = keptDishes;
+        neighbourSimilarities[dish] = keptSimilarities;
+    }
+
+    private int insertNeighbour(int dish, int neighbour, float similarity) {
+        int[] dishes = Arrays.copyOf(neighbourDishes[dish], neighbourDishes[dish].length + 1);
+        float[] similarities = Arrays.copyOf(neighbourSimilarities[dish], dishes.length);
+        int position = dishes.length - 1;
+        while (position > 0 && similarities[position - 1] < similarity) {
+            dishes[position] = dishes[position - 1];
+            similarities[position] = similarities[position - 1];
+            position--;
+        }
+        dishes[position] = neighbour;
+        similarities[position] = similarity;
+        neighbourDishes[dish] = dishes;
+        neighbourSimilarities[dish] = similarities;
+        return position;
+    }
+
+    // Insertion into a bounded list kept in descending order; returns the new size
+    private static int insert(int[] dishes, float[] similarities, int size, int dish, float similarity) {
+        if (size == dishes.length && (size == 0 || similarity <= similarities[size - 1])) {
+            return size;
+        }
+        int position = size == dishes.length ? size - 1 : size;
+        while (position > 0 && similarities[position - 1] < similarity) {
+            dishes[position] = dishes[position - 1];
+            similarities[position] = similarities[position - 1];
+            position--;
+        }
+        dishes[position] = dish;
+        similarities[position] = similarity;
+        return Math.min(size + 1, dishes.length);
+    }
+
+    private static int insert(int[] dishes, int size, int dish, double[] scores) {
+        if (size == dishes.length && (size == 0 || scores[dish] <= scores[dishes[size - 1]])) {
+            return size;
+        }
+        int position = size == dishes.length ? size - 1 : size;
+        while (position > 0 && scores[dishes[position - 1]] < scores[dish]) {
+            dishes[position] = dishes[position - 1];
+            position--;
+        }
+        dishes[position] = dish;
+        return Math.min(size + 1, dishes.length);
+    }
+
+    private int internDish(long dishId) {
+        Integer index = dishIndex.get(dishId);
+        if (index != null) {
+            return index;
+        }
+        // Indexes of removed dishes are not reused; their slots stay empty
+        int dish = dishCount++;
+        if (dish == dishIds.length) {
+            int capacity = dish * 2;
+            dishIds = Arrays.copyOf(dishIds, capacity);
+            dishRows = Arrays.copyOf(dishRows, capacity);
+            dishRowSizes = Arrays.copyOf(dishRowSizes, capacity);
+            sumSquares = Arrays.copyOf(sumSquares, capacity);
+            neighbourDishes = Arrays.copyOf(neighbourDishes, capacity);
+            neighbourSimilarities = Arrays.copyOf(neighbourSimilarities, capacity);
+        }
+        dishIds[dish] = dishId;
+        dishIndex.put(dishId, dish);
+        return dish;
+    }
+
+    private int internUser(String userId) {
+        Integer index = userIndex.get(userId);
+        if (index != null) {
+            return index;
+        }
+        int user = userCount++;
+        if (user == userRows.length) {
+            userRows = Arrays.copyOf(userRows, user * 2);
+            userRowSizes = Arrays.copyOf(userRowSizes, user * 2);
+        }
+        userIndex.put(userId, user);
+        return user;
+    }
+
+    private void appendToDishRow(int dish, int entry) {
+        dishRows[dish] = append(dishRows[dish], dishRowSizes[dish], entry);
+        dishRowSizes[dish]++;
+    }
+
+    private void appendToUserRow(int user, int entry) {
+        userRows[user] = append(userRows[user], userRowSizes[user], entry);
+        userRowSizes[user]++;
+    }
+
+    private void replaceInDishRow(int dish, int user, int score) {
+        int[] row = dishRows[dish];
+        for (int i = 0; i < dishRowSizes[dish]; i++) {
+            if (row[i] >>> 3 == user) {
+                row[i] = pack(user, score);
+                return;
+            }
+        }
+    }
+
+    private void removeFromUserRow(int user, int dish) {
+        int[] row = userRows[user];
+        int size = userRowSizes[user];
+        for (int i = 0; i < size; i++) {
+            if (row[i] >>> 3 == dish) {
+                row[i] = row[size - 1];
+                userRowSizes[user] = size - 1;
+                return;
+            }
+        }
+    }
+
+    private static int[] append(int[] row, int size, int entry) {
+        if (row == null) {
+            row = new int[4];
+        } else if (size == row.length) {
+            row = Arrays.copyOf(row, size + (size >> 1));
+        }
+        row[size] = entry;
+        return row;
+    }
+
+    private static int pack(int index, int score) {
+        return index << 3 | score;
+    }
+
+    private static int centred(int score) {
+        return score - NEUTRAL_SCORE;
+    }
+
+    private static int square(int score) {
+        int centred = centred(score);
+        return centred * centred;
+    }
+
+    // Per-thread accumulators for computeRow, indexed by dish; dots and supports are left zeroed
+    private static final class Scratch {
+        int[] dots = new int[0];
+        int[] supports = new int[0];
+        int[] touched = new int[0];
+        int[] otherDishes = new int[0];
+        float[] otherSimilarities = new float[0];
+
+        void ensureCapacity(int dishes) {
+            if (dots.length < dishes) {
+                dots = new int[dishes];
+                supports = new int[dishes];
+                touched = new int[dishes];
+                otherDishes = new int[dishes];
+                otherSimilarities = new float[dishes];
+            }
+        }
+    }
+
+    private record Row(int dish, int[] topDishes, float[] topSimilarities, int[] otherDishes, float[] otherSimilarities) {
+    }
+}
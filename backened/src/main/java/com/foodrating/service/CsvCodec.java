@@ -0,0 +1,64 @@
+package com.foodrating.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Minimal RFC 4180 CSV, one record per line: quoted fields may contain commas and doubled quotes,
+// but not line breaks (the exporter writes those as spaces)
+final class CsvCodec {
+
+    private CsvCodec() {
+    }
+
+    static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static void write(StringBuilder out, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            if (values[i] != null) {
+                appendField(out, values[i].toString());
+            }
+        }
+        out.append('\n');
+    }
+
+    private static void appendField(StringBuilder out, String value) {
+        String flat = value.replace('\r', ' ').replace('\n', ' ');
+        if (flat.indexOf(',') < 0 && flat.indexOf('"') < 0) {
+            out.append(flat);
+            return;
+        }
+        out.append('"').append(flat.replace("\"", "\"\"")).append('"');
+    }
+}
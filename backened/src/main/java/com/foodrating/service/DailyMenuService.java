@@ -0,0 +1,53 @@
+package com.foodrating.service;
+
+import com.foodrating.dto.DailyMenu;
+import com.foodrating.dto.DishView;
+import com.foodrating.entity.MealSlot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// A canteen's menu for one date: which dishes comes from the availability index, the dishes
+// themselves from the cached canteen menu, so a warm read runs no SQL
+@Service
+public class DailyMenuService {
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    // Empty when the canteen does not exist; slot narrows the menu to that slot plus all-day dishes
+    public Optional<DailyMenu> findDailyMenu(Long canteenId, LocalDate date, MealSlot slot) {
+        if (catalogService.findCanteen(canteenId).isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<Long, DishView> dishes = catalogService.findMenu(canteenId).stream()
+                .collect(Collectors.toMap(DishView::id, Function.identity()));
+        List<DishView> allDay = new ArrayList<>();
+        Map<MealSlot, List<DishView>> slots = new EnumMap<>(MealSlot.class);
+        for (AvailabilityIndex.Serving serving : availabilityIndex.servedOn(canteenId, date)) {
+            DishView dish = dishes.get(serving.dishId());
+            // The index can briefly run ahead of the cached menu around a commit
+            if (dish == null) {
+                continue;
+            }
+            if (serving.slot() == null) {
+                allDay.add(dish);
+            } else if (slot == null || slot == serving.slot()) {
+                slots.computeIfAbsent(serving.slot(), s -> new ArrayList<>()).add(dish);
+            }
+        }
+        return Optional.of(new DailyMenu(canteenId, date, allDay, slots));
+    }
+}
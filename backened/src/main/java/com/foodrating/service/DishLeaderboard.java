@@ -0,0 +1,482 @@
+package com.foodrating.service;
+
+import com.foodrating.dto.DishView;
+import com.foodrating.dto.LeaderboardEntry;
+import com.foodrating.entity.RatingStats;
+import com.foodrating.event.CanteenChangedEvent;
+import com.foodrating.event.ChangeType;
+import com.foodrating.event.DishChangedEvent;
+import com.foodrating.event.RatingChange;
+import com.foodrating.event.RatingsRecordedEvent;
+import com.foodrating.repository.DishRepository;
+import com.foodrating.repository.RatingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// In-memory top-dish rankings per window (all-time, week, day) and bucket (everything, per canteen,
+// per category, per canteen and category). Each bucket is a skip list kept in rank order, so a read
+// walks only the first N entries. Rating and catalog events re-rank just the dishes they touch;
+// the database is read once at startup.
+@Component
+public class DishLeaderboard {
+
+    private static final Logger log = LoggerFactory.getLogger(DishLeaderboard.class);
+
+    public static final int MAX_LIMIT = 50;
+
+    // Bayesian smoothing: each dish starts with PRIOR_WEIGHT virtual ratings at its seeded rating (or
+    // NEUTRAL_PRIOR), so a single 5-star rating cannot outrank a dish with a hundred 4.8s
+    private static final double PRIOR_WEIGHT = 5.0;
+    private static final double NEUTRAL_PRIOR = 3.0;
+
+    private static final int HISTORY_HOURS = LeaderboardWindow.WEEK.getHours();
+
+    private static final Comparator<LeaderboardEntry> RANK_ORDER =
+            Comparator.comparingDouble(LeaderboardEntry::score).reversed()
+                      .thenComparing(Comparator.comparingLong(LeaderboardEntry::ratingCount).reversed())
+                      .thenComparing(LeaderboardEntry::dishId);
+
+    private static final String ALL_DISHES = "*";
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    // window -> bucket key -> ranked entries. Readers walk the skip lists without locking; writers
+    // serialize on the lock so a dish moves between positions atomically with respect to other writers.
+    private final Map<LeaderboardWindow, ConcurrentHashMap<String, ConcurrentSkipListSet<LeaderboardEntry>>> boards =
+            new EnumMap<>(LeaderboardWindow.class);
+
+    // Guarded by lock
+    private final Map<Long, Standing> standings = new HashMap<>();
+    private final Object lock = new Object();
+    private long rankedHour;
+
+    // Guarded by pendingLock. While a load runs, events only note the dishes they touch: the load cannot
+    // tell which of those changes its snapshot already includes, so it re-reads those dishes afterwards
+    // rather than applying them as increments.
+    private final Object pendingLock = new Object();
+    private final Set<Long> pendingDishes = new HashSet<>();
+    private volatile boolean loaded;
+
+    public DishLeaderboard() {
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            boards.put(window, new ConcurrentHashMap<>());
+        }
+    }
+
+    // Top dishes for the window, optionally narrowed to a canteen and/or category
+    public List<LeaderboardEntry> top(LeaderboardWindow window, Long canteenId, String category, int limit) {
+        ConcurrentSkipListSet<LeaderboardEntry> bucket = boards.get(window).get(bucketKey(canteenId, category));
+        if (bucket == null) {
+            return List.of();
+        }
+        List<LeaderboardEntry> top = new ArrayList<>(limit);
+        for (LeaderboardEntry entry : bucket) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(entry);
+        }
+        return top;
+    }
+
+    // Ordered ahead of StartupWarmup, whose requests read the index
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void load() {
+        long nowHour = currentHour();
+        Instant since = Instant.ofEpochSecond((nowHour - HISTORY_HOURS + 1) * 3600);
+        synchronized (lock) {
+            synchronized (pendingLock) {
+                loaded = false;
+            }
+            standings.clear();
+            boards.values().forEach(Map::clear);
+
+            for (DishRepository.RankingRow row : dishRepository.findRankingRows()) {
+                standings.put(row.getId(), standingOf(row));
+            }
+            recordRecent(ratingRepository.findScoresSince(since), nowHour);
+            for (Standing standing : standings.values()) {
+                rerank(standing, nowHour);
+            }
+            rankedHour = nowHour;
+
+            // Until a pass finds nothing new; events then apply directly
+            Set<Long> changed;
+            while (!(changed = takePending()).isEmpty()) {
+                reload(changed, since, nowHour);
+            }
+        }
+        log.info("Leaderboard loaded with {} dishes", standings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingsRecorded(RatingsRecordedEvent event) {
+        if (!appliesNow(event.changes().stream().map(RatingChange::dishId).toList())) {
+            return;
+        }
+        long nowHour = currentHour();
+        synchronized (lock) {
+            Set<Standing> touched = new LinkedHashSet<>();
+            for (RatingChange change : event.changes()) {
+                Standing standing = standings.get(change.dishId());
+                if (standing == null) {
+                    continue;
+                }
+                if (change.isReplacement()) {
+                    standing.sum += change.score() - change.previousScore();
+                    if (change.previousAt() != null) {
+                        standing.recordHourly(hourOf(change.previousAt()), -1, -change.previousScore(), nowHour);
+                    }
+                } else {
+                    standing.count++;
+                    standing.sum += change.score();
+                }
+                standing.recordHourly(hourOf(change.ratedAt()), 1, change.score(), nowHour);
+                touched.add(standing);
+            }
+            for (Standing standing : touched) {
+                rerank(standing, nowHour);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDishChanged(DishChangedEvent event) {
+        if (!appliesNow(List.of(event.dishId()))) {
+            return;
+        }
+        long nowHour = currentHour();
+        synchronized (lock) {
+            if (event.type() == ChangeType.DELETED) {
+                remove(event.dishId());
+                return;
+            }
+
+            DishView dish = event.dish();
+            Standing standing = standings.computeIfAbsent(dish.id(), Standing::new);
+            standing.name = dish.name();
+            standing.category = dish.category();
+            standing.price = dish.price();
+            standing.canteenId = dish.canteen() == null ? null : dish.canteen().id();
+            standing.canteenName = dish.canteen() == null ? null : dish.canteen().name();
+            // The view shows the seeded rating only while the dish is unrated
+            if (dish.ratingCount() == 0) {
+                standing.seedRating = dish.rating();
+            }
+            rerank(standing, nowHour);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCanteenChanged(CanteenChangedEvent event) {
+        if (event.type() == ChangeType.CREATED || !appliesNow(event.dishIds())) {
+            return;
+        }
+        long nowHour = currentHour();
+        synchronized (lock) {
+            for (Long dishId : event.dishIds()) {
+                if (event.type() == ChangeType.DELETED) {
+                    remove(dishId);
+                    continue;
+                }
+                Standing standing = standings.get(dishId);
+                if (standing != null) {
+                    standing.canteenName = event.name();
+                    rerank(standing, nowHour);
+                }
+            }
+        }
+    }
+
+    // Day and week boards lose ratings as they age out; re-rank the dishes with recent ratings once per hour
+    @Scheduled(fixedDelayString = "${foodrating.leaderboard.expiry-check-ms:60000}")
+    public void expireWindows() {
+        if (!loaded) {
+            return;
+        }
+        long nowHour = currentHour();
+        synchronized (lock) {
+            if (nowHour == rankedHour) {
+                return;
+            }
+            for (Standing standing : standings.values()) {
+                if (standing.hourly != null) {
+                    rerank(standing, nowHour);
+                }
+            }
+            rankedHour = nowHour;
+        }
+    }
+
+    // False, after noting the dishes for the running load, until the index is loaded
+    private boolean appliesNow(Collection<Long> dishIds) {
+        synchronized (pendingLock) {
+            if (!loaded) {
+                pendingDishes.addAll(dishIds);
+            }
+            return loaded;
+        }
+    }
+
+    // Takes the dishes noted so far; marks the index loaded once there are none
+    private Set<Long> takePending() {
+        synchronized (pendingLock) {
+            Set<Long> changed = new HashSet<>(pendingDishes);
+            pendingDishes.clear();
+            loaded = changed.isEmpty();
+            return changed;
+        }
+    }
+
+    // Replaces the dishes' standings with their current database state; guarded by lock
+    private void reload(Set<Long> dishIds, Instant since, long nowHour) {
+        for (Long dishId : dishIds) {
+            remove(dishId);
+        }
+        for (DishRepository.RankingRow row : dishRepository.findRankingRowsByIdIn(dishIds)) {
+            standings.put(row.getId(), standingOf(row));
+        }
+        recordRecent(ratingRepository.findScoresSinceByDishIdIn(since, dishIds), nowHour);
+        for (Long dishId : dishIds) {
+            Standing standing = standings.get(dishId);
+            if (standing != null) {
+                rerank(standing, nowHour);
+            }
+        }
+    }
+
+    private void recordRecent(List<RatingRepository.RecentScore> scores, long nowHour) {
+        for (RatingRepository.RecentScore score : scores) {
+            Standing standing = standings.get(score.getDishId());
+            if (standing != null) {
+                standing.recordHourly(hourOf(score.getRatedAt()), 1, score.getScore(), nowHour);
+            }
+        }
+    }
+
+    private static Standing standingOf(DishRepository.RankingRow row) {
+        Standing standing = new Standing(row.getId());
+        standing.name = row.getName();
+        standing.category = row.getCategory();
+        standing.price = row.getPrice();
+        standing.seedRating = row.getRating();
+        standing.canteenId = row.getCanteenId();
+        standing.canteenName = row.getCanteenName();
+        standing.count = row.getRatingCount();
+        standing.sum = row.getRatingSum();
+        return standing;
+    }
+
+    private void remove(Long dishId) {
+        Standing standing = standings.remove(dishId);
+        if (standing == null) {
+            return;
+        }
+        for (Map.Entry<LeaderboardWindow, LeaderboardEntry> ranked : standing.ranked.entrySet()) {
+            removeFromBuckets(ranked.getKey(), standing.bucketKeys, ranked.getValue());
+        }
+        standing.ranked.clear();
+    }
+
+    // Takes the dish's current entries out of its old buckets and inserts fresh ones into its current buckets
+    private void rerank(Standing standing, long nowHour) {
+        standing.expireHourly(nowHour);
+        List<String> keys = bucketKeys(standing);
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            LeaderboardEntry previous = standing.ranked.remove(window);
+            if (previous != null) {
+                removeFromBuckets(window, standing.bucketKeys, previous);
+            }
+            LeaderboardEntry next = entryFor(standing, window, nowHour);
+            if (next != null) {
+                standing.ranked.put(window, next);
+                Map<String, ConcurrentSkipListSet<LeaderboardEntry>> board = boards.get(window);
+                for (String key : keys) {
+                    board.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>(RANK_ORDER)).add(next);
+                }
+            }
+        }
+        standing.bucketKeys = keys;
+    }
+
+    private void removeFromBuckets(LeaderboardWindow window, List<String> keys, LeaderboardEntry entry) {
+        Map<String, ConcurrentSkipListSet<LeaderboardEntry>> board = boards.get(window);
+        for (String key : keys) {
+            ConcurrentSkipListSet<LeaderboardEntry> bucket = board.get(key);
+            if (bucket != null && bucket.remove(entry) && bucket.isEmpty()) {
+                board.remove(key, bucket);
+            }
+        }
+    }
+
+    // All-time boards rank every dish; day and week boards only dishes rated within the window
+    private static LeaderboardEntry entryFor(Standing standing, LeaderboardWindow window, long nowHour) {
+        long count;
+        long sum;
+        if (window.isAllTime()) {
+            count = standing.count;
+            sum = standing.sum;
+        } else {
+            if (standing.hourly == null) {
+                return null;
+            }
+            count = standing.hourly.count(nowHour, window.getHours());
+            sum = standing.hourly.sum(nowHour, window.getHours());
+            if (count <= 0) {
+                return null;
+            }
+        }
+        double prior = standing.seedRating == null ? NEUTRAL_PRIOR : standing.seedRating;
+        double score = (sum + PRIOR_WEIGHT * prior) / (count + PRIOR_WEIGHT);
+        return new LeaderboardEntry(standing.dishId, standing.name, standing.category, standing.price,
+                                    standing.canteenId, standing.canteenName,
+                                    RatingStats.average(count, sum), count, score);
+    }
+
+    private static List<String> bucketKeys(Standing standing) {
+        List<String> keys = new ArrayList<>(4);
+        keys.add(ALL_DISHES);
+        if (standing.canteenId != null) {
+            keys.add(bucketKey(standing.canteenId, null));
+        }
+        if (standing.category != null) {
+            keys.add(bucketKey(null, standing.category));
+        }
+        if (standing.canteenId != null && standing.category != null) {
+            keys.add(bucketKey(standing.canteenId, standing.category));
+        }
+        return keys;
+    }
+
+    private static String bucketKey(Long canteenId, String category) {
+        if (canteenId == null && category == null) {
+            return ALL_DISHES;
+        }
+        String categoryKey = category == null ? "" : "k:" + category.trim().toLowerCase(Locale.ROOT);
+        return canteenId == null ? categoryKey : "c:" + canteenId + (category == null ? "" : "|" + categoryKey);
+    }
+
+    private static long currentHour() {
+        return hourOf(Instant.now());
+    }
+
+    private static long hourOf(Instant instant) {
+        return instant.getEpochSecond() / 3600;
+    }
+
+    // Mutable per-dish state, only touched under the lock
+    private static final class Standing {
+        final Long dishId;
+        String name;
+        String category;
+        Double price;
+        Integer seedRating;
+        Long canteenId;
+        String canteenName;
+        long count;
+        long sum;
+        // Allocated on the first recent rating and dropped once the last one is older than a week
+        HourlyScores hourly;
+        List<String> bucketKeys = List.of();
+        final Map<LeaderboardWindow, LeaderboardEntry> ranked = new EnumMap<>(LeaderboardWindow.class);
+
+        Standing(Long dishId) {
+            this.dishId = dishId;
+        }
+
+        void recordHourly(long hour, int count, int sum, long nowHour) {
+            if (nowHour - hour >= HISTORY_HOURS) {
+                return;
+            }
+            if (hourly == null) {
+                hourly = new HourlyScores();
+            }
+            hourly.add(hour, count, sum);
+        }
+
+        void expireHourly(long nowHour) {
+            if (hourly != null && hourly.count(nowHour, HISTORY_HOURS) == 0) {
+                hourly = null;
+            }
+        }
+    }
+
+    // Rating count and score sum per hour over the last HISTORY_HOURS hours, as a ring indexed by epoch hour
+    private static final class HourlyScores {
+        final long[] hours = new long[HISTORY_HOURS];
+        final int[] counts = new int[HISTORY_HOURS];
+        final int[] sums = new int[HISTORY_HOURS];
+
+        HourlyScores() {
+            Arrays.fill(hours, -1);
+        }
+
+        void add(long hour, int count, int sum) {
+            int slot = (int) Math.floorMod(hour, (long) HISTORY_HOURS);
+            if (hours[slot] != hour) {
+                // The slot still holds an hour that has left the history
+                hours[slot] = hour;
+                counts[slot] = 0;
+                sums[slot] = 0;
+            }
+            counts[slot] += count;
+            sums[slot] += sum;
+        }
+
+        long count(long nowHour, int span) {
+            long total = 0;
+            for (int slot = 0; slot < HISTORY_HOURS; slot++) {
+                if (inSpan(slot, nowHour, span)) {
+                    total += counts[slot];
+                }
+            }
+            return total;
+        }
+
+        long sum(long nowHour, int span) {
+            long total = 0;
+            for (int slot = 0; slot < HISTORY_HOURS; slot++) {
+                if (inSpan(slot, nowHour, span)) {
+                    total += sums[slot];
+                }
+            }
+            return total;
+        }
+
+        private boolean inSpan(int slot, long nowHour, int span) {
+            long age = nowHour - hours[slot];
+            return hours[slot] >= 0 && age >= 0 && age < span;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.foodrating.service;
+
+import com.foodrating.dto.DishSuggestion;
+import com.foodrating.dto.DishView;
+import com.foodrating.event.CanteenChangedEvent;
+import com.foodrating.event.ChangeType;
+import com.foodrating.event.DishChangedEvent;
+import com.foodrating.event.RatingChange;
+import com.foodrating.event.RatingsRecordedEvent;
+import com.foodrating.repository.RatingRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// "Also liked" suggestions from the dish x user rating matrix, served from memory. Committed rating
+// and deletion events are only queued; a dedicated background thread loads every rating once, then
+// every refresh-ms applies the queue to the CoRatingModel and recomputes the dishes it touched.
+// Suggestions therefore trail new ratings by up to refresh-ms.
+@Component
+public class DishSimilarityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DishSimilarityIndex.class);
+
+    public static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${foodrating.similarity.neighbours:50}")
+    private int neighbours;
+
+    @Value("${foodrating.similarity.refresh-ms:1000}")
+    private long refreshMillis;
+
+    private CoRatingModel model;
+    private TransactionTemplate readOnly;
+
+    // Changes committed since the last refresh, in commit order. Replaying one the initial load already
+    // saw is harmless: a rating sets the user's score, it does not add to it.
+    private final ConcurrentLinkedQueue<Consumer<CoRatingModel>> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("similarity-refresh").daemon().factory());
+
+    // Guarded by this
+    private boolean loaded;
+
+    @PostConstruct
+    void init() {
+        model = new CoRatingModel(neighbours);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    // Dishes most often rated alike by the same users
+    public List<DishSuggestion> similar(Long dishId, int limit) {
+        return suggestions(model.similar(dishId, limit));
+    }
+
+    // Unrated dishes closest to what the user liked, away from what they disliked
+    public List<DishSuggestion> recommend(String userId, int limit) {
+        return suggestions(model.recommend(userId, limit));
+    }
+
+    // The first tick loads the index, after startup rather than holding it up. Ordered ahead of
+    // StartupWarmup, which loads it up front instead.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    // Loads on first use, then applies queued changes; public so tests need not wait for the next tick
+    public synchronized void refresh() {
+        if (!loaded) {
+            load();
+            loaded = true;
+        }
+        Consumer<CoRatingModel> change;
+        while ((change = pending.poll()) != null) {
+            change.accept(model);
+        }
+        int recomputed = model.refresh();
+        if (recomputed > 0) {
+            log.debug("Recomputed similar dishes of {} dishes", recomputed);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingsRecorded(RatingsRecordedEvent event) {
+        for (RatingChange change : event.changes()) {
+            pending.add(ratings -> ratings.rate(change.dishId(), change.userId(), change.score()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDishChanged(DishChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            pending.add(ratings -> ratings.removeDish(event.dishId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCanteenChanged(CanteenChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            for (Long dishId : event.dishIds()) {
+                pending.add(ratings -> ratings.removeDish(dishId));
+            }
+        }
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<RatingRepository.UserScore> scores = ratingRepository.streamAllScores()) {
+                scores.forEach(score -> model.rate(score.getDishId(), score.getUserId(), score.getScore()));
+            }
+        });
+        int dishes = model.refresh();
+        log.info("Similarity index loaded {} ratings of {} dishes by {} users in {} ms", model.ratingCount(), dishes,
+                 model.userCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // Keeps the schedule alive; a failed load is retried on the next tick
+            log.warn("Similarity refresh failed", e);
+        }
+    }
+
+    // Dishes deleted since the last refresh are skipped
+    private List<DishSuggestion> suggestions(List<CoRatingModel.ScoredDish> scored) {
+        List<DishSuggestion> suggestions = new ArrayList<>(scored.size());
+        for (CoRatingModel.ScoredDish entry : scored) {
+            Optional<DishView> dish = catalogService.findDish(entry.dishId());
+            dish.ifPresent(view -> suggestions.add(new DishSuggestion(view, entry.score())));
+        }
+        return suggestions;
+    }
+}
@@ -0,0 +1,26 @@
+package com.foodrating.service;
+
+import com.foodrating.event.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Hands each change to @EventListener(OutboxEvent.class) methods in this application, in order.
+// A listener that throws fails the batch, which is then redelivered to every listener.
+@Component
+@ConditionalOnProperty(name = "foodrating.outbox.sink", havingValue = "in-process")
+public class InProcessOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
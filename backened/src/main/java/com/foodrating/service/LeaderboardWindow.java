@@ -0,0 +1,32 @@
+package com.foodrating.service;
+
+import java.util.Locale;
+
+// Time span a leaderboard ranks over; hours is 0 for the all-time board
+public enum LeaderboardWindow {
+    ALL(0),
+    WEEK(7 * 24),
+    DAY(24);
+
+    private final int hours;
+
+    LeaderboardWindow(int hours) {
+        this.hours = hours;
+    }
+
+    public int getHours() {
+        return hours;
+    }
+
+    public boolean isAllTime() {
+        return hours == 0;
+    }
+
+    // Accepts "all", "week" or "day" in any case; null means all-time
+    public static LeaderboardWindow parse(String value) {
+        if (value == null) {
+            return ALL;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
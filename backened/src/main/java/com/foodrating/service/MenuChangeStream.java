@@ -0,0 +1,361 @@
+package com.foodrating.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodrating.dto.DishView;
+import com.foodrating.event.CanteenChangedEvent;
+import com.foodrating.event.ChangeType;
+import com.foodrating.event.DishChangedEvent;
+import com.foodrating.event.RatingsRecordedEvent;
+import com.foodrating.repository.DishRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Live menu changes per canteen over Server-Sent Events. Committed changes only mark dishes dirty
+// on the canteen's channel; every coalesce-ms the dirty set is rendered once (latest state wins)
+// and handed to each subscriber's bounded outbox. Each outbox is drained by its own virtual
+// thread, so a slow client only ever delays itself; one that falls buffer-size events behind
+// loses its backlog and is told to resync. Idle subscribers hold no thread, only an async request.
+@Component
+public class MenuChangeStream {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuChangeStream.class);
+
+    // A burst touching more dishes than this is sent as a single resync instead
+    private static final int MAX_DIRTY_DISHES = 500;
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("keep-alive").build();
+    private static final Set<DataWithMediaType> RESYNC = SseEmitter.event().name("resync").data("{}").build();
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${foodrating.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${foodrating.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${foodrating.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Empty when the subscriber limit is reached
+    public Optional<SseEmitter> subscribe(Long canteenId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(canteenId, emitter);
+        channels.compute(canteenId, (id, channel) -> {
+            Channel joined = channel == null ? new Channel(id) : channel;
+            joined.subscribers.add(subscriber);
+            return joined;
+        });
+        emitter.onCompletion(subscriber::leave);
+        emitter.onTimeout(subscriber::leave);
+        emitter.onError(error -> subscriber.leave());
+
+        // Flushes the response headers so the client sees the stream open straight away
+        subscriber.offer(List.of(SseEmitter.event().name("ready").data("{\"canteenId\":" + canteenId + "}").build()));
+        return Optional.of(emitter);
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDishChanged(DishChangedEvent event) {
+        Channel channel = event.canteenId() == null ? null : channels.get(event.canteenId());
+        if (channel != null) {
+            channel.markDish(event.dishId(), event.type() == ChangeType.DELETED);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCanteenChanged(CanteenChangedEvent event) {
+        Channel channel = channels.get(event.canteenId());
+        if (channel == null) {
+            return;
+        }
+        if (event.type() == ChangeType.DELETED) {
+            channel.markDeleted();
+        } else {
+            channel.markRenamed(event.name());
+        }
+    }
+
+    // Rated dishes are pushed with their new averages; the dish -> canteen lookup only runs when someone listens
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingsRecorded(RatingsRecordedEvent event) {
+        if (event.canteenDeltas().keySet().stream().noneMatch(channels::containsKey)) {
+            return;
+        }
+        for (DishRepository.CanteenRef ref : dishRepository.findCanteenRefs(event.dishDeltas().keySet())) {
+            Channel channel = channels.get(ref.getCanteenId());
+            if (channel != null) {
+                channel.markDish(ref.getDishId(), false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${foodrating.stream.coalesce-ms:250}")
+    public void flush() {
+        for (Channel channel : channels.values()) {
+            Pending pending = channel.drain();
+            if (pending == null) {
+                continue;
+            }
+            List<Set<DataWithMediaType>> events = render(channel, pending);
+            for (Subscriber subscriber : channel.subscribers) {
+                if (pending.deleted) {
+                    subscriber.offerLast(events);
+                } else {
+                    subscriber.offer(events);
+                }
+            }
+        }
+    }
+
+    // Lets proxies and the server notice dead connections; idle streams would otherwise never write
+    @Scheduled(fixedDelayString = "${foodrating.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        List<Set<DataWithMediaType>> events = List.of(HEARTBEAT);
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(events);
+            }
+        }
+    }
+
+    // Ends every stream before graceful shutdown starts waiting for in-flight requests
+    @EventListener(ContextClosedEvent.class)
+    public void close() {
+        for (Channel channel : channels.values()) {
+            channel.subscribers.forEach(Subscriber::finish);
+        }
+        senders.shutdown();
+    }
+
+    private List<Set<DataWithMediaType>> render(Channel channel, Pending pending) {
+        List<Set<DataWithMediaType>> events = new ArrayList<>();
+        if (pending.deleted) {
+            events.add(event(channel, "canteen-deleted", "{\"id\":" + channel.canteenId + "}"));
+            return events;
+        }
+        if (pending.resync) {
+            events.add(RESYNC);
+            return events;
+        }
+        if (pending.name != null) {
+            events.add(event(channel, "canteen", json(Map.of("id", channel.canteenId, "name", pending.name))));
+        }
+        for (Map.Entry<Long, Boolean> dish : pending.dishes.entrySet()) {
+            // Read after the commit that marked it, so this is the latest state (usually a cache hit)
+            Optional<DishView> view = dish.getValue() ? Optional.empty() : catalogService.findDish(dish.getKey());
+            if (view.isPresent()) {
+                events.add(event(channel, "dish", json(view.get())));
+            } else {
+                events.add(event(channel, "dish-deleted", "{\"id\":" + dish.getKey() + "}"));
+            }
+        }
+        return events;
+    }
+
+    private static Set<DataWithMediaType> event(Channel channel, String name, String data) {
+        return SseEmitter.event().id(Long.toString(channel.sequence.incrementAndGet())).name(name).data(data).build();
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Changes of one canteen since the last flush
+    private static final class Pending {
+        // dish id -> deleted, in first-changed order
+        final LinkedHashMap<Long, Boolean> dishes = new LinkedHashMap<>();
+        String name;
+        boolean resync;
+        boolean deleted;
+    }
+
+    private static final class Channel {
+        final Long canteenId;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final AtomicLong sequence = new AtomicLong();
+        // Guarded by this
+        private Pending pending;
+
+        Channel(Long canteenId) {
+            this.canteenId = canteenId;
+        }
+
+        synchronized void markDish(Long dishId, boolean deleted) {
+            Pending changes = pending();
+            if (changes.resync) {
+                return;
+            }
+            changes.dishes.put(dishId, deleted);
+            if (changes.dishes.size() > MAX_DIRTY_DISHES) {
+                changes.dishes.clear();
+                changes.resync = true;
+            }
+        }
+
+        synchronized void markRenamed(String name) {
+            pending().name = name;
+        }
+
+        synchronized void markDeleted() {
+            pending().deleted = true;
+        }
+
+        synchronized Pending drain() {
+            Pending drained = pending;
+            pending = null;
+            return drained;
+        }
+
+        private Pending pending() {
+            if (pending == null) {
+                pending = new Pending();
+            }
+            return pending;
+        }
+    }
+
+    private final class Subscriber {
+        final Long canteenId;
+        final SseEmitter emitter;
+        final AtomicBoolean closed = new AtomicBoolean();
+        // Guarded by this
+        private final ArrayDeque<Set<DataWithMediaType>> outbox = new ArrayDeque<>();
+        private boolean sending;
+        private boolean finishing;
+
+        Subscriber(Long canteenId, SseEmitter emitter) {
+            this.canteenId = canteenId;
+            this.emitter = emitter;
+        }
+
+        // Never blocks: queues the events and makes sure a sender is draining
+        void offer(List<Set<DataWithMediaType>> events) {
+            enqueue(events, false);
+        }
+
+        // Sends the events, then ends the stream
+        void offerLast(List<Set<DataWithMediaType>> events) {
+            enqueue(events, true);
+        }
+
+        private void enqueue(List<Set<DataWithMediaType>> events, boolean last) {
+            synchronized (this) {
+                if (closed.get() || finishing) {
+                    return;
+                }
+                if (outbox.size() + events.size() > bufferSize) {
+                    // Too far behind to catch up by deltas; the client reloads the menu instead
+                    outbox.clear();
+                    outbox.add(RESYNC);
+                } else {
+                    outbox.addAll(events);
+                }
+                finishing = last;
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RuntimeException e) {
+                // Shutting down
+                finish();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> next;
+                synchronized (this) {
+                    next = outbox.poll();
+                    if (next == null) {
+                        sending = false;
+                        if (finishing) {
+                            break;
+                        }
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away, or the stream already completed
+                    log.debug("Dropping menu stream subscriber of canteen {}: {}", canteenId, e.getMessage());
+                    break;
+                }
+            }
+            finish();
+        }
+
+        void finish() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed
+            }
+            leave();
+        }
+
+        void leave() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriberCount.decrementAndGet();
+            channels.computeIfPresent(canteenId, (id, channel) -> {
+                channel.subscribers.remove(this);
+                return channel.subscribers.isEmpty() ? null : channel;
+            });
+        }
+    }
+}
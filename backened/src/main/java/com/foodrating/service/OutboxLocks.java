@@ -0,0 +1,39 @@
+package com.foodrating.service;
+
+import com.foodrating.config.DatabaseProduct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// PostgreSQL transaction-scoped advisory locks that keep the change log ordered across instances.
+// Both are released when the surrounding transaction ends. Other databases (H2 in tests) only ever
+// run one instance, so there both are no-ops.
+@Component
+public class OutboxLocks {
+
+    // Single-key lock of the publisher; the two-key aggregate locks live in a separate key space
+    private static final long PUBLISHER_KEY = 0x6f7574626f78L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatabaseProduct databaseProduct;
+
+    // Blocks until no other open transaction has written an outbox entry for this aggregate, so a
+    // later change of it always gets a higher id than one that committed before
+    public void lockAggregate(String aggregateType, long aggregateId) {
+        if (databaseProduct.isPostgres()) {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", rs -> null,
+                               aggregateType.hashCode(), Long.hashCode(aggregateId));
+        }
+    }
+
+    // False while another instance is publishing
+    public boolean tryLockPublisher() {
+        if (!databaseProduct.isPostgres()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, PUBLISHER_KEY));
+    }
+}
@@ -0,0 +1,92 @@
+package com.foodrating.service;
+
+import com.foodrating.entity.OutboxEntry;
+import com.foodrating.event.OutboxEvent;
+import com.foodrating.repository.OutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// Moves committed outbox entries to the sink in id order, batch-size at a time. Only one instance
+// publishes at a time (OutboxLocks), so each aggregate's entries leave in the order they committed.
+// An entry whose transaction commits after a higher id was published still goes out, on a later
+// poll, which is why consumers deduplicate per aggregate rather than by a global high-water mark.
+// The batch is published and marked in one transaction: a sink failure rolls it back and the next
+// poll retries it, so delivery is at-least-once and never skips an entry.
+@Component
+public class OutboxPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPoller.class);
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxSink outboxSink;
+
+    @Autowired
+    private OutboxLocks outboxLocks;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${foodrating.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${foodrating.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    // Keeps going while full batches come back, so a backlog drains without waiting for the next tick
+    @Scheduled(fixedDelayString = "${foodrating.outbox.poll-ms:1000}")
+    public void poll() {
+        int published;
+        do {
+            published = publishBatch();
+        } while (published == batchSize);
+    }
+
+    // Published entries stay for retention-hours as a replayable log, then go
+    @Scheduled(fixedDelayString = "${foodrating.outbox.cleanup-ms:3600000}")
+    public void purge() {
+        Instant before = Instant.now().minus(Duration.ofHours(retentionHours));
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deletePublishedBefore(before));
+        if (deleted != null && deleted > 0) {
+            log.debug("Purged {} published outbox entries", deleted);
+        }
+    }
+
+    private int publishBatch() {
+        try {
+            Integer published = transactionTemplate.execute(status -> {
+                if (!outboxLocks.tryLockPublisher()) {
+                    return 0;
+                }
+                List<OutboxEntry> entries = outboxRepository.findUnpublished(PageRequest.of(0, batchSize));
+                if (entries.isEmpty()) {
+                    return 0;
+                }
+                List<OutboxEvent> events = entries.stream().map(OutboxEvent::from).toList();
+                try {
+                    outboxSink.publish(events);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Outbox sink rejected " + events.size() + " events", e);
+                }
+                outboxRepository.markPublished(entries.stream().map(OutboxEntry::getId).toList(), Instant.now());
+                return entries.size();
+            });
+            return published == null ? 0 : published;
+        } catch (RuntimeException e) {
+            log.warn("Outbox publish failed, retrying on the next poll", e);
+            return 0;
+        }
+    }
+}
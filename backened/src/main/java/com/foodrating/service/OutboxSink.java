@@ -0,0 +1,12 @@
+package com.foodrating.service;
+
+import com.foodrating.event.OutboxEvent;
+
+import java.util.List;
+
+// Destination of the change log. A batch is only marked published once publish returns, so an
+// exception means the whole batch is offered again on the next poll.
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,60 @@
+package com.foodrating.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodrating.entity.OutboxEntry;
+import com.foodrating.event.CanteenChangedEvent;
+import com.foodrating.event.ChangeType;
+import com.foodrating.event.DishChangedEvent;
+import com.foodrating.repository.OutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Records every dish and canteen change in the outbox inside the mutating transaction, so the
+// change log holds exactly the changes that committed. Writers of the same aggregate are serialized
+// from here to commit, so its entries get ids in commit order; across aggregates ids follow insert
+// time, not commit order.
+@Component
+public class OutboxWriter {
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxLocks outboxLocks;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onDishChanged(DishChangedEvent event) {
+        // A deleted dish has no state left; keep the canteen so consumers can update its menu
+        Object payload = event.dish() != null ? event.dish() : Collections.singletonMap("canteenId", event.canteenId());
+        append(OutboxEntry.DISH, event.dishId(), event.type(), payload);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCanteenChanged(CanteenChangedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("name", event.name());
+        payload.put("dishIds", event.dishIds());
+        append(OutboxEntry.CANTEEN, event.canteenId(), event.type(), payload);
+    }
+
+    private void append(String aggregateType, Long aggregateId, ChangeType type, Object payload) {
+        try {
+            String json = objectMapper.writeValueAsString(payload);
+            outboxLocks.lockAggregate(aggregateType, aggregateId);
+            outboxRepository.save(new OutboxEntry(aggregateType, aggregateId, type, json, Instant.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.foodrating.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Write-behind path for rating submissions. Requests only enqueue; a single worker drains the
+// bounded queue and hands RatingService batches of up to batch-size submissions, or whatever
+// arrived within flush-interval-ms. A full queue is reported to the caller instead of blocking it.
+// Submissions were already answered 202, so a failed batch is not given up lightly: transient
+// database errors (pool timeout, deadlock, failover) are retried with backoff for up to
+// retry-timeout-ms, and any other error splits the batch in halves until the submission that
+// causes it is isolated. Only what still fails is dropped, counted in
+// foodrating.ratings.ingest.dropped (reason=rejected or reason=unavailable).
+@Component
+public class RatingIngestionPipeline implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingIngestionPipeline.class);
+
+    // Stop after the web server so requests still in flight during shutdown can enqueue
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${foodrating.ratings.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${foodrating.ratings.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${foodrating.ratings.ingest.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Value("${foodrating.ratings.ingest.retry-timeout-ms:30000}")
+    private long retryTimeoutMillis;
+
+    @Value("${foodrating.ratings.ingest.retry-backoff-ms:100}")
+    private long retryBackoffMillis;
+
+    @Value("${foodrating.ratings.ingest.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMillis;
+
+    private BlockingQueue<RatingSubmission> queue;
+    private Thread worker;
+    private volatile boolean accepting;
+    private volatile boolean running;
+
+    // Returns false when the queue is full or the pipeline is shutting down
+    public boolean submit(RatingSubmission submission) {
+        return accepting && queue.offer(submission);
+    }
+
+    public int pending() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    @Override
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        accepting = true;
+        worker = new Thread(this::drainLoop, "rating-ingest");
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Rating ingestion stopped with {} submissions not persisted", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drainLoop() {
+        List<RatingSubmission> batch = new ArrayList<>(batchSize);
+        // After stop() keep going until everything accepted so far has been flushed
+        while (running || !queue.isEmpty()) {
+            try {
+                RatingSubmission first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+            }
+            flush(batch);
+        }
+    }
+
+    // Collects more submissions until the batch is full or the flush interval has passed
+    private void fillBatch(List<RatingSubmission> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            RatingSubmission next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<RatingSubmission> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            persist(batch);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    // Halves keep their order, so the last submission per (dish, user) still wins
+    private void persist(List<RatingSubmission> submissions) {
+        RuntimeException failure = persistWithRetry(submissions);
+        if (failure == null) {
+            return;
+        }
+        if (isTransient(failure)) {
+            log.error("Dropping {} rating submissions, database unavailable for {} ms", submissions.size(), retryTimeoutMillis, failure);
+            drop("unavailable", submissions.size());
+        } else if (submissions.size() == 1) {
+            log.error("Dropping rating submission {}", submissions.get(0), failure);
+            drop("rejected", 1);
+        } else {
+            int half = submissions.size() / 2;
+            persist(submissions.subList(0, half));
+            persist(submissions.subList(half, submissions.size()));
+        }
+    }
+
+    // Null once written; otherwise the last failure, after retrying transient ones
+    private RuntimeException persistWithRetry(List<RatingSubmission> submissions) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryTimeoutMillis);
+        long backoff = retryBackoffMillis;
+        while (true) {
+            try {
+                int changed = ratingService.recordAll(submissions);
+                log.debug("Flushed {} rating submissions ({} changed)", submissions.size(), changed);
+                return null;
+            } catch (RuntimeException e) {
+                if (!isTransient(e) || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) > deadline) {
+                    return e;
+                }
+                log.warn("Retrying {} rating submissions in {} ms: {}", submissions.size(), backoff, e.getMessage());
+                meterRegistry.counter("foodrating.ratings.ingest.retries").increment();
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return e;
+                }
+                backoff = Math.min(backoff * 2, 5000);
+            }
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void drop(String reason, int count) {
+        meterRegistry.counter("foodrating.ratings.ingest.dropped", "reason", reason).increment(count);
+    }
+}
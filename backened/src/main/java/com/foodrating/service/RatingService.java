@@ -0,0 +1,123 @@
+package com.foodrating.service;
+
+import com.foodrating.dto.RatingSummary;
+import com.foodrating.entity.Rating;
+import com.foodrating.entity.RatingDelta;
+import com.foodrating.event.RatingChange;
+import com.foodrating.event.RatingsRecordedEvent;
+import com.foodrating.repository.DishRepository;
+import com.foodrating.repository.RatingAggregateRepository;
+import com.foodrating.repository.RatingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class RatingService {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingService.class);
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private RatingAggregateRepository ratingAggregateRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Writes a batch of submissions in one transaction: new ratings are inserted in JDBC batches,
+    // replaced ones updated, and every touched dish and canteen aggregate incremented once.
+    // Returns the number of ratings that changed.
+    @Transactional
+    public int recordAll(List<RatingSubmission> submissions) {
+        // The last submission per (dish, user) wins
+        Map<RatingKey, RatingSubmission> latest = new LinkedHashMap<>();
+        for (RatingSubmission submission : submissions) {
+            latest.put(new RatingKey(submission.dishId(), submission.userId()), submission);
+        }
+
+        Set<Long> dishIds = latest.keySet().stream().map(RatingKey::dishId).collect(Collectors.toSet());
+        Set<String> userIds = latest.keySet().stream().map(RatingKey::userId).collect(Collectors.toSet());
+
+        // Dishes deleted since the submission was accepted are simply absent here
+        Map<Long, Long> canteenByDish = new HashMap<>();
+        for (DishRepository.CanteenRef ref : dishRepository.findCanteenRefs(dishIds)) {
+            canteenByDish.put(ref.getDishId(), ref.getCanteenId());
+        }
+
+        Map<RatingKey, Rating> existing = new HashMap<>();
+        for (Rating rating : ratingRepository.findByDishIdInAndUserIdIn(dishIds, userIds)) {
+            existing.put(new RatingKey(rating.getDish().getId(), rating.getUserId()), rating);
+        }
+
+        List<Rating> created = new ArrayList<>();
+        Map<Long, RatingDelta> dishDeltas = new HashMap<>();
+        Map<Long, RatingDelta> canteenDeltas = new HashMap<>();
+        List<RatingChange> changes = new ArrayList<>();
+        for (Map.Entry<RatingKey, RatingSubmission> entry : latest.entrySet()) {
+            RatingSubmission submission = entry.getValue();
+            if (!canteenByDish.containsKey(submission.dishId())) {
+                log.debug("Dropping rating for missing dish {}", submission.dishId());
+                continue;
+            }
+
+            RatingDelta delta;
+            Rating rating = existing.get(entry.getKey());
+            if (rating == null) {
+                delta = RatingDelta.added(submission.score());
+                created.add(new Rating(dishRepository.getReferenceById(submission.dishId()), submission.userId(),
+                                       submission.score(), submission.submittedAt()));
+                changes.add(new RatingChange(submission.dishId(), submission.userId(), null, null,
+                                             submission.score(), submission.submittedAt()));
+            } else if (rating.getScore() != submission.score()) {
+                delta = RatingDelta.replaced(rating.getScore(), submission.score());
+                Integer previousScore = rating.getScore();
+                Instant previousAt = rating.getUpdatedAt();
+                rating.setScore(submission.score());
+                changes.add(new RatingChange(submission.dishId(), submission.userId(), previousScore, previousAt,
+                                             submission.score(), rating.getUpdatedAt()));
+            } else {
+                continue;
+            }
+
+            dishDeltas.merge(submission.dishId(), delta, RatingDelta::plus);
+            Long canteenId = canteenByDish.get(submission.dishId());
+            if (canteenId != null) {
+                canteenDeltas.merge(canteenId, delta, RatingDelta::plus);
+            }
+        }
+
+        ratingRepository.saveAll(created);
+        ratingAggregateRepository.applyToDishes(dishDeltas);
+        ratingAggregateRepository.applyToCanteens(canteenDeltas);
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new RatingsRecordedEvent(dishDeltas, canteenDeltas, changes));
+        }
+        return changes.size();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<RatingSummary> summarize(Long dishId) {
+        return dishRepository.findById(dishId).map(RatingSummary::from);
+    }
+
+    private record RatingKey(Long dishId, String userId) {
+    }
+}
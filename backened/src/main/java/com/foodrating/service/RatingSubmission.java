@@ -0,0 +1,7 @@
+package com.foodrating.service;
+
+import java.time.Instant;
+
+// A rating accepted by the API and waiting in the ingestion queue
+public record RatingSubmission(Long dishId, String userId, int score, Instant submittedAt) {
+}
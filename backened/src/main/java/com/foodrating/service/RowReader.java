@@ -0,0 +1,81 @@
+package com.foodrating.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Pulls one row at a time off the request body, so an import never holds more than a batch in memory.
+// Rows that cannot be parsed come back with an error instead of a value.
+final class RowReader<T> implements Closeable {
+
+    record Row<T>(long line, T value, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final BulkFormat format;
+    private final Class<T> type;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long line;
+
+    RowReader(InputStream body, BulkFormat format, Class<T> type, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        this.format = format;
+        this.type = type;
+        this.objectMapper = objectMapper;
+    }
+
+    // Next non-blank row, or null at the end of the body
+    Row<T> next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        if (format == BulkFormat.NDJSON) {
+            try {
+                return new Row<>(line, objectMapper.readValue(text, type), null);
+            } catch (JsonProcessingException e) {
+                return new Row<>(line, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        if (header == null) {
+            // Tolerate the byte-order mark spreadsheet tools put in front of the header
+            header = CsvCodec.parse(text.startsWith("\uFEFF") ? text.substring(1) : text).stream().map(String::trim).toList();
+            return next();
+        }
+        try {
+            List<String> fields = CsvCodec.parse(text);
+            if (fields.size() != header.size()) {
+                return new Row<>(line, null, "Expected " + header.size() + " columns, found " + fields.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                // Empty cells are missing values, not empty strings
+                values.put(header.get(i), fields.get(i).isEmpty() ? null : fields.get(i));
+            }
+            return new Row<>(line, objectMapper.convertValue(values, type), null);
+        } catch (IllegalArgumentException e) {
+            return new Row<>(line, null, "Invalid row: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,31 @@
+package com.foodrating.service;
+
+import com.foodrating.config.CacheConfig;
+import com.foodrating.dto.CanteenStats;
+import com.foodrating.dto.CategoryStats;
+import com.foodrating.repository.StatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Dashboard aggregates. They are not evicted on writes: the stats cache expires after
+// foodrating.stats.ttl, so figures may trail the catalogue by at most that long.
+@Service
+public class StatsService {
+
+    @Autowired
+    private StatsRepository statsRepository;
+
+    @Cacheable(cacheNames = CacheConfig.STATS, key = "'canteens'")
+    public List<CanteenStats> canteenStats() {
+        return statsRepository.byCanteen(LocalDate.now());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.STATS, key = "'categories'")
+    public List<CategoryStats> categoryStats() {
+        return statsRepository.byCategory(LocalDate.now());
+    }
+}
@@ -0,0 +1,53 @@
+-- Baseline schema, matching the JPA mappings (validated at startup with ddl-auto=validate).
+-- Sequences step by 50 to match the pooled id generators' allocationSize.
+
+CREATE SEQUENCE canteens_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE dishes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE ratings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE canteens (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    name         VARCHAR(255) NOT NULL,
+    location     VARCHAR(255),
+    description  VARCHAR(255),
+    version      BIGINT,
+    rating_count BIGINT       NOT NULL DEFAULT 0,
+    rating_sum   BIGINT       NOT NULL DEFAULT 0,
+    rating_1     BIGINT       NOT NULL DEFAULT 0,
+    rating_2     BIGINT       NOT NULL DEFAULT 0,
+    rating_3     BIGINT       NOT NULL DEFAULT 0,
+    rating_4     BIGINT       NOT NULL DEFAULT 0,
+    rating_5     BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT uk_canteens_name UNIQUE (name)
+);
+
+CREATE TABLE dishes (
+    id             BIGINT       NOT NULL PRIMARY KEY,
+    name           VARCHAR(255),
+    description    VARCHAR(255),
+    category       VARCHAR(255),
+    price          FLOAT(53),
+    rating         INTEGER,
+    available_date DATE,
+    version        BIGINT,
+    rating_count   BIGINT       NOT NULL DEFAULT 0,
+    rating_sum     BIGINT       NOT NULL DEFAULT 0,
+    rating_1       BIGINT       NOT NULL DEFAULT 0,
+    rating_2       BIGINT       NOT NULL DEFAULT 0,
+    rating_3       BIGINT       NOT NULL DEFAULT 0,
+    rating_4       BIGINT       NOT NULL DEFAULT 0,
+    rating_5       BIGINT       NOT NULL DEFAULT 0,
+    canteen_id     BIGINT,
+    CONSTRAINT fk_dishes_canteen FOREIGN KEY (canteen_id) REFERENCES canteens (id)
+);
+
+CREATE TABLE ratings (
+    id         BIGINT                      NOT NULL PRIMARY KEY,
+    dish_id    BIGINT                      NOT NULL,
+    user_id    VARCHAR(64)                 NOT NULL,
+    score      INTEGER                     NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_ratings_dish_user UNIQUE (dish_id, user_id),
+    CONSTRAINT fk_ratings_dish FOREIGN KEY (dish_id) REFERENCES dishes (id) ON DELETE CASCADE
+);
@@ -0,0 +1,21 @@
+-- Full-text and typo-tolerant search (SearchRepository). Needs permission to create pg_trgm.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Generated tsvector columns: name ranks above category/location, which rank above description
+ALTER TABLE dishes ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(category, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'C')) STORED;
+
+ALTER TABLE canteens ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(location, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'C')) STORED;
+
+CREATE INDEX idx_dishes_search_vector ON dishes USING GIN (search_vector);
+CREATE INDEX idx_canteens_search_vector ON canteens USING GIN (search_vector);
+
+-- Trigram indexes serve the similarity match on names
+CREATE INDEX idx_dishes_name_trgm ON dishes USING GIN (name gin_trgm_ops);
+CREATE INDEX idx_canteens_name_trgm ON canteens USING GIN (name gin_trgm_ops);
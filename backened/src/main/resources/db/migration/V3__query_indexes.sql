@@ -0,0 +1,23 @@
+-- Indexes for the repository query methods. The trailing id column lets keyset pages
+-- (WHERE ... AND id > ? ORDER BY id LIMIT n) read the index in order without a sort.
+
+-- DishRepository.findByCanteenId, findPageAfter/Before(canteenId), the dish count per canteen
+CREATE INDEX idx_dishes_canteen_id ON dishes (canteen_id, id);
+
+-- DishRepository.findByCategory, findPageAfter/Before(category)
+CREATE INDEX idx_dishes_category_id ON dishes (category, id);
+
+-- DishRepository.findByRatingGreaterThanEqual
+CREATE INDEX idx_dishes_rating ON dishes (rating);
+
+-- Menus by date
+CREATE INDEX idx_dishes_available_date ON dishes (available_date, canteen_id);
+
+-- CanteenRepository.findPageAfter/Before(location)
+CREATE INDEX idx_canteens_location_id ON canteens (location, id);
+
+-- CanteenRepository.findByNameContainingIgnoreCase (upper(name) LIKE upper(?))
+CREATE INDEX idx_canteens_name_upper_trgm ON canteens USING GIN (upper(name) gin_trgm_ops);
+
+-- RatingRepository.findScoresSince (leaderboard start-up load)
+CREATE INDEX idx_ratings_updated_at ON ratings (updated_at);
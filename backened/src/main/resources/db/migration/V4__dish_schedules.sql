@@ -0,0 +1,20 @@
+-- Recurring dish availability: weekday bitmask (Monday = 1), optional date range, optional meal slot.
+-- Rows go with their dish (ON DELETE CASCADE), like ratings.
+
+CREATE SEQUENCE dish_schedules_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE dish_schedules (
+    id           BIGINT      NOT NULL PRIMARY KEY,
+    dish_id      BIGINT      NOT NULL,
+    meal_slot    VARCHAR(16),
+    days_of_week INTEGER     NOT NULL DEFAULT 127,
+    start_date   DATE,
+    end_date     DATE,
+    CONSTRAINT fk_dish_schedules_dish FOREIGN KEY (dish_id) REFERENCES dishes (id) ON DELETE CASCADE,
+    CONSTRAINT ck_dish_schedules_days CHECK (days_of_week BETWEEN 1 AND 127),
+    CONSTRAINT ck_dish_schedules_range CHECK (start_date IS NULL OR end_date IS NULL OR start_date <= end_date),
+    CONSTRAINT ck_dish_schedules_slot CHECK (meal_slot IN ('BREAKFAST', 'LUNCH', 'SNACKS', 'DINNER'))
+);
+
+-- DishScheduleRepository.findByDishId / deleteByDishId (schedule edits, incremental index rebuild)
+CREATE INDEX idx_dish_schedules_dish_id ON dish_schedules (dish_id);
@@ -0,0 +1,20 @@
+-- Transactional outbox: one row per committed dish/canteen change, published in id order.
+-- The sequence is not pooled so ids follow commit order even with several instances.
+
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE outbox_events (
+    id             BIGINT                      NOT NULL PRIMARY KEY,
+    aggregate_type VARCHAR(16)                 NOT NULL,
+    aggregate_id   BIGINT                      NOT NULL,
+    change_type    VARCHAR(16)                 NOT NULL,
+    payload        TEXT                        NOT NULL,
+    occurred_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    published_at   TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- OutboxRepository.findUnpublished: only the small unpublished tail is indexed
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL;
+
+-- OutboxRepository.deletePublishedBefore
+CREATE INDEX idx_outbox_events_published_at ON outbox_events (published_at);
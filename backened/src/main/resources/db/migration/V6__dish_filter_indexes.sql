@@ -0,0 +1,9 @@
+-- Indexes for the composite dish filter (DishFilterRepository). Canteen selections use
+-- idx_dishes_canteen_id and serving dates idx_dish_schedules_dish_id / idx_dishes_available_date;
+-- the minimum rating is checked on the rows the other criteria select.
+
+-- Category selections with a price range ("Indian under 50")
+CREATE INDEX idx_dishes_category_price ON dishes (category, price);
+
+-- Price ranges on their own
+CREATE INDEX idx_dishes_price ON dishes (price);
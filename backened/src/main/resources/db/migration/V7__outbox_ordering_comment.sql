@@ -0,0 +1,3 @@
+-- V5 said ids follow commit order across instances. They are taken at insert time, so that only
+-- holds per aggregate (OutboxWriter serializes writers of one aggregate); V5 is left as applied.
+COMMENT ON TABLE outbox_events IS 'Committed dish/canteen changes. Ids increase in commit order per (aggregate_type, aggregate_id) only; consumers deduplicate per aggregate.';
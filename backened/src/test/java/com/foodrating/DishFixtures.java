@@ -0,0 +1,32 @@
+package com.foodrating;
+
+import com.foodrating.entity.Dish;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.service.CatalogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Creates dishes through CatalogService, so the read models see them as they would a real one
+@Component
+public class DishFixtures {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    // Available today, priced and rated where no test looks
+    public Long create(Long canteenId, String name, String category) {
+        return create(canteenId, name, category, 30.00, 3, LocalDate.now());
+    }
+
+    public Long create(Long canteenId, String name, String category, double price, int rating, LocalDate availableDate) {
+        Dish dish = new Dish(name, "Test dish", category, price, rating);
+        dish.setAvailableDate(availableDate);
+        dish.setCanteen(canteenRepository.findById(canteenId).orElseThrow());
+        return catalogService.createDish(dish).id();
+    }
+}
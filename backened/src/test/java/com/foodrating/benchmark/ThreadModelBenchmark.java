@@ -0,0 +1,160 @@
+package com.foodrating.benchmark;
+
+import com.foodrating.FoodRatingApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Throughput and latency of the same request mix under thread-per-request (platform threads)
+// and virtual-thread mode. Excluded from the normal build; run with
+//   mvn test -Dgroups=benchmark -DexcludedGroups=none
+// Defaults use the in-memory H2 test profile. For meaningful numbers point it at PostgreSQL, where
+// requests actually block on I/O:
+//   -Dbenchmark.profiles=prod -Dbenchmark.concurrency=800 -Dbenchmark.seconds=60
+@Tag("benchmark")
+public class ThreadModelBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("benchmark.warmup-seconds", 5));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 20));
+    private static final String PROFILES = System.getProperty("benchmark.profiles", "test");
+
+    // Uncached paginated reads hit the database on every request; the single dish is usually cached
+    private static final String[] PATHS = {
+        "/api/dishes?size=20",
+        "/api/canteens?size=20",
+        "/api/dishes?size=20&category=Indian",
+        "/api/search?q=noodles"
+    };
+
+    @Test
+    public void compareThreadModels() throws Exception {
+        Result platform = run("platform threads", false);
+        Result virtual = run("virtual threads", true);
+
+        System.out.printf("%n%-18s %12s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-18s %12.1f %10.2f %10.2f %10.2f %8d%n", result.mode(), result.throughput(),
+                              result.percentile(50), result.percentile(99), result.percentile(100), result.errors());
+        }
+
+        assertTrue(platform.latencies().length > 0 && virtual.latencies().length > 0);
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "logging.level.com.foodrating=WARN"));
+        if ("test".equals(PROFILES)) {
+            // Own database, so closing this context cannot drop tables other test contexts use
+            properties.add("spring.datasource.url=jdbc:h2:mem:benchmark-" + virtualThreads + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FoodRatingApplication.class)
+                .profiles(PROFILES.split(","))
+                .properties(properties.toArray(String[]::new))
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            return drive(mode, "http://localhost:" + port);
+        }
+    }
+
+    // CONCURRENCY closed-loop clients, each sending its next request as soon as the previous one returns
+    private Result drive(String mode, String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureUntil = measureFrom + MEASUREMENT.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                int offset = i;
+                clients.add(executor.submit(() -> {
+                    LatencyLog latencies = new LatencyLog();
+                    for (int n = offset; System.nanoTime() < measureUntil; n++) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATHS[n % PATHS.length]))
+                                .timeout(Duration.ofSeconds(10))
+                                .build();
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (start >= measureFrom && end <= measureUntil) {
+                            latencies.add(end - start);
+                            if (!ok) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                    return latencies.toArray();
+                }));
+            }
+        }
+
+        long[] all = clients.stream().map(ThreadModelBenchmark::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = MEASUREMENT.toNanos() / 1e9;
+        return new Result(mode, all.length / seconds, all, errors.get());
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Result(String mode, double throughput, long[] latencies, long errors) {
+
+        // Nearest-rank percentile of the sorted latencies, in milliseconds
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p / 100.0 * latencies.length);
+            return latencies[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+
+    private static final class LatencyLog {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.foodrating.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Tests normally run without metrics export; this one scrapes the Prometheus endpoint like production does
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class ObservabilityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testPrometheusScrapeCoversEndpointsAndRepositories() throws Exception {
+        // One Spring Data repository (through the canteen listing) and one JDBC repository (stats)
+        mockMvc.perform(get("/api/canteens")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/stats/categories")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("uri=\"/api/canteens\""),
+                        containsString("repository=\"CanteenRepository\""),
+                        containsString("repository=\"StatsRepository\""),
+                        containsString("method=\"byCategory\""))));
+    }
+}
@@ -0,0 +1,75 @@
+package com.foodrating.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The default rules: ratings per X-User-Id, everything else per address
+@SpringBootTest(properties = "foodrating.rate-limit.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testRepeatedRatingOfOneDishIsLimited() throws Exception {
+        String rating = "{\"userId\": \"spammer\", \"score\": 5}";
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/dishes/1/ratings").header("X-User-Id", "spammer")
+                            .contentType(MediaType.APPLICATION_JSON).content(rating))
+                    .andExpect(status().isAccepted());
+        }
+
+        mockMvc.perform(post("/api/dishes/1/ratings").header("X-User-Id", "spammer")
+                        .contentType(MediaType.APPLICATION_JSON).content(rating))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        // Another dish, another client and reads are unaffected
+        mockMvc.perform(post("/api/dishes/2/ratings").header("X-User-Id", "spammer")
+                        .contentType(MediaType.APPLICATION_JSON).content(rating))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(post("/api/dishes/1/ratings").header("X-User-Id", "someone-else")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"userId\": \"someone-else\", \"score\": 4}"))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(get("/api/dishes").header("X-User-Id", "spammer"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testUsersBehindOneAddressRateIndependently() throws Exception {
+        // More raters than the per-address budget for other writes allows, all from MockMvc's one address
+        for (int i = 0; i < 40; i++) {
+            String user = "campus-" + i;
+            mockMvc.perform(post("/api/dishes/3/ratings").header("X-User-Id", user)
+                            .contentType(MediaType.APPLICATION_JSON).content("{\"userId\": \"" + user + "\", \"score\": 4}"))
+                    .andExpect(status().isAccepted());
+        }
+    }
+
+    @Test
+    public void testRejectedRatingKeepsTheUsersOtherBudget() throws Exception {
+        String rating = "{\"userId\": \"repeater\", \"score\": 3}";
+        // 3 accepted, then 30 rejected by the per-dish limit; those must not drain the 30 across dishes
+        for (int i = 0; i < 33; i++) {
+            mockMvc.perform(post("/api/dishes/4/ratings").header("X-User-Id", "repeater")
+                    .contentType(MediaType.APPLICATION_JSON).content(rating));
+        }
+        for (int dish = 5; dish < 25; dish++) {
+            mockMvc.perform(post("/api/dishes/" + dish + "/ratings").header("X-User-Id", "repeater")
+                            .contentType(MediaType.APPLICATION_JSON).content(rating))
+                    .andExpect(status().isAccepted());
+        }
+    }
+}
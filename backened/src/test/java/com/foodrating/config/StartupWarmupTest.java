@@ -0,0 +1,57 @@
+package com.foodrating.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The warm-up needs a real server to call; by the time the context is handed to the test it has run
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "foodrating.warmup.enabled=true",
+        "foodrating.warmup.rounds=3",
+        "foodrating.warmup.threads=2"})
+@ActiveProfiles("test")
+public class StartupWarmupTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    public void testReadyOnlyWithWarmCaches() throws Exception {
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+
+        // Dish details and menus were requested before readiness, so their caches are already filled
+        assertTrue(nativeCache(CacheConfig.DISHES).estimatedSize() > 0);
+        assertTrue(nativeCache(CacheConfig.MENUS).estimatedSize() > 0);
+        assertTrue(nativeCache(CacheConfig.STATS).estimatedSize() > 0);
+
+        HttpResponse<String> readiness = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, readiness.statusCode());
+        assertTrue(readiness.body().contains("\"UP\""), readiness.body());
+    }
+
+    private Cache<?, ?> nativeCache(String name) {
+        return (Cache<?, ?>) cacheManager.getCache(name).getNativeCache();
+    }
+}
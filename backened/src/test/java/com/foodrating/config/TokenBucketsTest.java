@@ -0,0 +1,85 @@
+package com.foodrating.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstThenRefill() {
+        TokenBuckets buckets = new TokenBuckets(4, 1000);
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, buckets.tryAcquire("client", 3, SECOND, now));
+        }
+        // Empty: the next token is one interval away
+        assertEquals(SECOND, buckets.tryAcquire("client", 3, SECOND, now));
+        assertEquals(SECOND / 2, buckets.tryAcquire("client", 3, SECOND, now + SECOND / 2));
+        assertEquals(0, buckets.tryAcquire("client", 3, SECOND, now + SECOND));
+        // Other clients have their own buckets
+        assertEquals(0, buckets.tryAcquire("other", 3, SECOND, now));
+    }
+
+    @Test
+    public void testReleasedTokenCanBeTakenAgain() {
+        TokenBuckets buckets = new TokenBuckets(4, 1000);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, buckets.tryAcquire("client", 1, SECOND, now));
+        assertTrue(buckets.tryAcquire("client", 1, SECOND, now) > 0);
+        buckets.release("client", SECOND);
+        assertEquals(0, buckets.tryAcquire("client", 1, SECOND, now));
+    }
+
+    @Test
+    public void testIdleBucketsAreEvicted() {
+        TokenBuckets buckets = new TokenBuckets(4, 1000);
+        long now = 1_000 * SECOND;
+        buckets.tryAcquire("idle", 5, SECOND, now);
+        buckets.tryAcquire("busy", 1, 60 * SECOND, now + 9 * SECOND);
+
+        assertEquals(1, buckets.evictIdle(5 * SECOND, now + 10 * SECOND));
+        assertEquals(1, buckets.size());
+        // A drained bucket is kept until it has refilled
+        assertTrue(buckets.tryAcquire("busy", 1, 60 * SECOND, now + 10 * SECOND) > 0);
+    }
+
+    @Test
+    public void testConcurrentAcquiresNeverOverGrant() throws Exception {
+        TokenBuckets buckets = new TokenBuckets(4, 1000);
+        long now = 1_000 * SECOND;
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            pool.execute(() -> {
+                if (buckets.tryAcquire("hot", 100, SECOND, now) == 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, granted.get());
+    }
+
+    @Test
+    public void testKeyLimitTurnsNewClientsAway() {
+        TokenBuckets buckets = new TokenBuckets(1, 2);
+        long now = 1_000 * SECOND;
+        buckets.tryAcquire("a", 5, SECOND, now);
+        buckets.tryAcquire("b", 5, SECOND, now);
+
+        assertTrue(buckets.tryAcquire("c", 5, SECOND, now) > 0);
+        assertEquals(0, buckets.tryAcquire("a", 5, SECOND, now));
+    }
+}
@@ -0,0 +1,80 @@
+package com.foodrating.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BulkControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testCsvImportReportsBadRowsAndKeepsGoodOnes() throws Exception {
+        String csv = "name,location,description\n" +
+                     "Bulk Canteen One,Block A,\"Soups, salads\"\n" +
+                     ",Block B,missing name\n" +
+                     "Bulk Canteen Two,Block C,\n" +
+                     "Bulk Canteen One,Block D,duplicate\n";
+
+        mockMvc.perform(post("/api/bulk/canteens").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[1].line").value(5));
+    }
+
+    @Test
+    public void testNdjsonDishImportResolvesCanteenByName() throws Exception {
+        mockMvc.perform(post("/api/bulk/canteens").contentType("application/x-ndjson")
+                        .content("{\"name\":\"Bulk Dish Canteen\",\"location\":\"Block E\"}\n"))
+                .andExpect(jsonPath("$.imported").value(1));
+
+        String ndjson = "{\"name\":\"Bulk Soup\",\"price\":40,\"rating\":4,\"canteenName\":\"Bulk Dish Canteen\"}\n" +
+                        "{\"name\":\"Orphan\",\"canteenName\":\"No Such Canteen\"}\n" +
+                        "not json\n";
+
+        mockMvc.perform(post("/api/bulk/dishes").contentType("application/x-ndjson").content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value(containsString("Unknown canteen")));
+    }
+
+    @Test
+    public void testCsvExportStreamsHeaderAndRows() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/bulk/canteens").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("id,name,location,description\n")))
+                .andExpect(content().string(containsString("Rishabs Canteen")));
+    }
+
+    @Test
+    public void testUnknownExportFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/api/bulk/dishes").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
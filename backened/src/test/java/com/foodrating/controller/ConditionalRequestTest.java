@@ -0,0 +1,109 @@
+package com.foodrating.controller;
+
+import com.foodrating.dto.CanteenMenu;
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.service.CatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    private Long canteenId;
+
+    private Long dishId;
+
+    @BeforeEach
+    public void setUp() {
+        CanteenMenu menu = catalogService.createCanteen(new Canteen("Tag Canteen " + System.nanoTime(), "Block T", null));
+        canteenId = menu.id();
+        Dish dish = new Dish("Tag Dosa", "Conditional request test dish", "Tag Test", 40.00, 4);
+        dish.setCanteen(canteenRepository.findById(canteenId).orElseThrow());
+        dishId = catalogService.createDish(dish).id();
+    }
+
+    @Test
+    public void testMatchingIfNoneMatchIsNotModified() throws Exception {
+        String dishTag = etag(get("/api/dishes/" + dishId));
+        mockMvc.perform(get("/api/dishes/" + dishId).header(HttpHeaders.IF_NONE_MATCH, dishTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, dishTag));
+
+        String menuTag = etag(get("/api/dishes/canteen/" + canteenId));
+        mockMvc.perform(get("/api/dishes/canteen/" + canteenId).header(HttpHeaders.IF_NONE_MATCH, menuTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testStaleIfMatchIsRejected() throws Exception {
+        String staleTag = etag(get("/api/dishes/" + dishId));
+        String body = "{\"name\":\"Tag Dosa\",\"description\":\"Edited\",\"category\":\"Tag Test\",\"price\":45.0}";
+
+        String currentTag = mockMvc.perform(put("/api/dishes/" + dishId).header(HttpHeaders.IF_MATCH, staleTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(staleTag, currentTag);
+
+        // A second edit based on the first GET lost the race
+        mockMvc.perform(put("/api/dishes/" + dishId).header(HttpHeaders.IF_MATCH, staleTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void testCanteenRenameChangesDishTags() throws Exception {
+        String menuTag = etag(get("/api/dishes/canteen/" + canteenId));
+        String dishTag = etag(get("/api/dishes/" + dishId));
+
+        String renamed = "Renamed Tag Canteen " + System.nanoTime();
+        mockMvc.perform(put("/api/canteens/" + canteenId).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + renamed + "\",\"location\":\"Block T\"}"))
+                .andExpect(status().isOk());
+
+        // The dish itself was not edited, but every copy of its canteen summary was
+        mockMvc.perform(get("/api/dishes/canteen/" + canteenId).header(HttpHeaders.IF_NONE_MATCH, menuTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].canteen.name").value(renamed));
+        mockMvc.perform(get("/api/dishes/" + dishId).header(HttpHeaders.IF_NONE_MATCH, dishTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.canteen.name").value(renamed));
+    }
+
+    private String etag(RequestBuilder request) throws Exception {
+        String tag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+        return tag;
+    }
+}
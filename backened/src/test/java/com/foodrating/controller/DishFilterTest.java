@@ -0,0 +1,129 @@
+package com.foodrating.controller;
+
+import com.foodrating.DishFixtures;
+import com.foodrating.dto.CanteenMenu;
+import com.foodrating.dto.ScheduleEntry;
+import com.foodrating.entity.Canteen;
+import com.foodrating.service.CatalogService;
+import com.foodrating.service.RatingService;
+import com.foodrating.service.RatingSubmission;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every test filters on its own canteen's location, so dishes from other tests never match
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DishFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private DishFixtures dishFixtures;
+
+    @Autowired
+    private RatingService ratingService;
+
+    private Long canteenId;
+    private String location;
+
+    @BeforeEach
+    public void setUp() {
+        location = "Filter Block " + System.nanoTime();
+        CanteenMenu menu = catalogService.createCanteen(new Canteen("Filter Canteen " + location, location, null));
+        canteenId = menu.id();
+    }
+
+    @Test
+    public void testCombinedCriteriaWithFacets() throws Exception {
+        LocalDate today = LocalDate.now();
+        dishFixtures.create(canteenId, "Tomorrow's Dal", "Indian", 40.0, 4, today.plusDays(1));
+        Long loved = dishFixtures.create(canteenId, "Loved Rajma", "Indian", 45.0, 2, today);
+        dishFixtures.create(canteenId, "Pricey Thali", "Indian", 80.0, 5, today);
+        dishFixtures.create(canteenId, "Cheap Noodles", "Chinese", 30.0, 5, today);
+        Long disliked = dishFixtures.create(canteenId, "Disliked Poha", "Indian", 20.0, 5, today);
+        Long scheduled = dishFixtures.create(canteenId, "Daily Idli", "Indian", 25.0, 4, today.minusDays(1));
+        catalogService.replaceSchedule(scheduled, List.of(new ScheduleEntry(null, Set.of(), null, null)));
+
+        Instant now = Instant.now();
+        ratingService.recordAll(List.of(
+                new RatingSubmission(loved, "filter-1", 5, now),
+                new RatingSubmission(loved, "filter-2", 5, now),
+                new RatingSubmission(disliked, "filter-1", 1, now)));
+
+        // "Indian dishes under 50 rated 4+ available today near <location>"
+        mockMvc.perform(get("/api/dishes/filter")
+                        .param("location", location)
+                        .param("category", "Indian")
+                        .param("maxPrice", "50")
+                        .param("minRating", "4")
+                        .param("date", today.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Loved Rajma", "Daily Idli")))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()))
+                // The category facet ignores the category selection: one Chinese dish would also match
+                .andExpect(jsonPath("$.facets.categories[*].value", contains("Chinese", "Indian")))
+                .andExpect(jsonPath("$.facets.categories[*].count", contains(1, 2)))
+                .andExpect(jsonPath("$.facets.canteens[0].value").value(canteenId.toString()))
+                .andExpect(jsonPath("$.facets.canteens[0].count").value(2))
+                .andExpect(jsonPath("$.facets.prices[*].value", contains("0-50", "50-100", "100-200", "200-")))
+                .andExpect(jsonPath("$.facets.prices[*].count", contains(2, 0, 0, 0)))
+                .andExpect(jsonPath("$.facets.ratings[0].label").value("4+"))
+                .andExpect(jsonPath("$.facets.ratings[0].count").value(2));
+    }
+
+    @Test
+    public void testPagesShareTotalAndFacets() throws Exception {
+        LocalDate today = LocalDate.now();
+        dishFixtures.create(canteenId, "Page Vada", "Indian", 20.0, 3, today);
+        dishFixtures.create(canteenId, "Page Dosa", "Indian", 40.0, 4, today);
+        dishFixtures.create(canteenId, "Page Momos", "Chinese", 60.0, 4, today);
+
+        String first = mockMvc.perform(get("/api/dishes/filter").param("location", location).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.total").value(3))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(first, "$.nextCursor");
+
+        mockMvc.perform(get("/api/dishes/filter").param("location", location).param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Page Momos")))
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.facets.prices[*].count", contains(2, 1, 0, 0)))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    public void testInvalidRangesAreRejected() throws Exception {
+        mockMvc.perform(get("/api/dishes/filter").param("minPrice", "50").param("maxPrice", "20"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/dishes/filter").param("minRating", "6"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/dishes/filter").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,161 @@
+package com.foodrating.controller;
+
+import com.foodrating.dto.CursorPage;
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.service.CatalogService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class KeysetPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    private String location;
+
+    private List<Long> canteenIds;
+
+    private String category;
+
+    private List<Long> dishIds;
+
+    @BeforeEach
+    public void setUp() {
+        long run = System.nanoTime();
+        location = "Paging-Block-" + run;
+        canteenIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            canteenIds.add(catalogService.createCanteen(new Canteen("Paging Canteen " + run + "-" + i, location, null)).id());
+        }
+
+        category = "Paging-" + run;
+        dishIds = new ArrayList<>();
+        Canteen canteen = canteenRepository.findById(canteenIds.get(0)).orElseThrow();
+        for (int i = 0; i < 5; i++) {
+            Dish dish = new Dish("Paging Dish " + i, "Keyset paging test dish", category, 30.00, 3);
+            dish.setCanteen(canteen);
+            dishIds.add(catalogService.createDish(dish).id());
+        }
+    }
+
+    @Test
+    public void testCursorRoundTrip() {
+        assertEquals(Long.valueOf(42), CursorPage.decode(CursorPage.encode(42L)));
+        assertNull(CursorPage.decode(null));
+        assertNull(CursorPage.decode(""));
+    }
+
+    @Test
+    public void testDishPagesAscending() throws Exception {
+        String listing = "/api/dishes?size=2&category=" + category;
+
+        Page first = page(listing);
+        assertEquals(dishIds.subList(0, 2), first.ids());
+        // The cursor is the last id on the page; the next page starts strictly after it
+        assertEquals(dishIds.get(1), CursorPage.decode(first.nextCursor()));
+
+        Page second = page(listing + "&cursor=" + first.nextCursor());
+        assertEquals(dishIds.subList(2, 4), second.ids());
+
+        Page last = page(listing + "&cursor=" + second.nextCursor());
+        assertEquals(dishIds.subList(4, 5), last.ids());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    public void testDishPagesDescending() throws Exception {
+        String listing = "/api/dishes?size=2&sort=desc&category=" + category;
+
+        Page first = page(listing);
+        assertEquals(List.of(dishIds.get(4), dishIds.get(3)), first.ids());
+
+        Page second = page(listing + "&cursor=" + first.nextCursor());
+        assertEquals(List.of(dishIds.get(2), dishIds.get(1)), second.ids());
+
+        Page last = page(listing + "&cursor=" + second.nextCursor());
+        assertEquals(List.of(dishIds.get(0)), last.ids());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    public void testExactlyFullPageIsTheLast() throws Exception {
+        Page all = page("/api/dishes?size=5&category=" + category);
+        assertEquals(dishIds, all.ids());
+        assertNull(all.nextCursor());
+
+        // Seeking past the last id yields an empty last page
+        Page beyond = page("/api/dishes?size=5&category=" + category + "&cursor=" + CursorPage.encode(dishIds.get(4)));
+        assertEquals(List.of(), beyond.ids());
+        assertNull(beyond.nextCursor());
+    }
+
+    @Test
+    public void testCanteenPagesBothDirections() throws Exception {
+        String listing = "/api/canteens?size=2&location=" + location;
+
+        Page first = page(listing);
+        assertEquals(canteenIds.subList(0, 2), first.ids());
+        assertNotNull(first.nextCursor());
+        Page last = page(listing + "&cursor=" + first.nextCursor());
+        assertEquals(canteenIds.subList(2, 3), last.ids());
+        assertNull(last.nextCursor());
+
+        Page firstDesc = page(listing + "&sort=desc");
+        assertEquals(List.of(canteenIds.get(2), canteenIds.get(1)), firstDesc.ids());
+        Page lastDesc = page(listing + "&sort=desc&cursor=" + firstDesc.nextCursor());
+        assertEquals(List.of(canteenIds.get(0)), lastDesc.ids());
+        assertNull(lastDesc.nextCursor());
+    }
+
+    @Test
+    public void testInvalidCursorIsRejected() throws Exception {
+        String wrongPrefix = Base64.getUrlEncoder().withoutPadding().encodeToString("page:5".getBytes(StandardCharsets.UTF_8));
+        String notANumber = Base64.getUrlEncoder().withoutPadding().encodeToString("id:five".getBytes(StandardCharsets.UTF_8));
+        for (String cursor : List.of("not*base64", wrongPrefix, notANumber)) {
+            mockMvc.perform(get("/api/dishes").param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/canteens").param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private Page page(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Number> ids = JsonPath.read(body, "$.items[*].id");
+        String nextCursor = JsonPath.read(body, "$.nextCursor");
+        return new Page(ids.stream().map(Number::longValue).toList(), nextCursor);
+    }
+
+    private record Page(List<Long> ids, String nextCursor) {
+    }
+}
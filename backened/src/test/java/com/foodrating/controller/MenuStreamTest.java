@@ -0,0 +1,110 @@
+package com.foodrating.controller;
+
+import com.foodrating.dto.DishView;
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.service.CatalogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs against a real server: the stream is read line by line the way an EventSource would
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class MenuStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    @Test
+    public void testDishChangesArriveAsLatestState() throws Exception {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/canteens/" + canteen.getId() + "/stream"))
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        Iterator<String> lines = response.body().iterator();
+        assertEquals("ready", nextEventName(lines));
+
+        Dish dish = new Dish("Stream Dosa", "Stream test dish", "Stream Test", 30.00, 3);
+        dish.setCanteen(canteen);
+        DishView created = catalogService.createDish(dish);
+        // Edits within one coalescing window are pushed once, as the final state
+        for (int i = 1; i <= 3; i++) {
+            Dish edit = new Dish("Stream Dosa v" + i, "Stream test dish", "Stream Test", 30.00 + i, 3);
+            catalogService.updateDish(created.id(), edit, version -> true);
+        }
+
+        String data;
+        do {
+            data = nextEventData(lines, "dish");
+        } while (!data.contains("Stream Dosa v3"));
+        assertTrue(data.contains("\"id\":" + created.id()), data);
+
+        catalogService.deleteDish(created.id(), version -> true);
+        assertEquals("{\"id\":" + created.id() + "}", nextEventData(lines, "dish-deleted"));
+        response.body().close();
+    }
+
+    @Test
+    public void testUnknownCanteenIsNotFound() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/canteens/999999/stream")).build();
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+        assertEquals(404, response.statusCode());
+    }
+
+    private static String nextEventName(Iterator<String> lines) throws Exception {
+        return within(() -> {
+            while (true) {
+                String line = lines.next();
+                if (line.startsWith("event:")) {
+                    return line.substring("event:".length()).trim();
+                }
+            }
+        });
+    }
+
+    // Data of the next event with the given name, skipping events for other dishes of the canteen
+    private static String nextEventData(Iterator<String> lines, String name) throws Exception {
+        return within(() -> {
+            String event = null;
+            while (true) {
+                String line = lines.next();
+                if (line.startsWith("event:")) {
+                    event = line.substring("event:".length()).trim();
+                } else if (line.startsWith("data:") && name.equals(event)) {
+                    return line.substring("data:".length());
+                }
+            }
+        });
+    }
+
+    private static String within(Supplier<String> read) throws Exception {
+        return CompletableFuture.supplyAsync(read).get(Duration.ofSeconds(10).toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,122 @@
+package com.foodrating.controller;
+
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.repository.DishRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every read endpoint must run a fixed number of SQL statements, however many rows it returns
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReadModelStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+    private Long canteenId;
+    private Long dishId;
+
+    @BeforeEach
+    public void setUp() {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        Dish dish = dishRepository.findAll().get(0);
+        canteenId = canteen.getId();
+        dishId = dish.getId();
+
+        // Measure the database path, not whatever an earlier test left in the caches
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testListDishesRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/dishes").param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].canteen.name").exists());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testDishesByCanteenRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/dishes/canteen/" + canteenId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].canteen.id").value(canteenId));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testDishByIdRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/dishes/" + dishId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.canteen.name").exists());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testListCanteensRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/canteens").param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].dishCount").exists());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testCanteenWithMenuRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/canteens/" + canteenId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dishes[0].name").exists());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testCachedReadsRunNoStatements() throws Exception {
+        mockMvc.perform(get("/api/canteens/" + canteenId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/dishes/canteen/" + canteenId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/dishes/" + dishId)).andExpect(status().isOk());
+        statistics.clear();
+
+        mockMvc.perform(get("/api/canteens/" + canteenId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/dishes/canteen/" + canteenId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/dishes/" + dishId)).andExpect(status().isOk());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,128 @@
+package com.foodrating.controller;
+
+import com.foodrating.DishFixtures;
+import com.foodrating.entity.Canteen;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.service.CatalogService;
+import com.foodrating.service.DishSimilarityIndex;
+import com.foodrating.service.RatingService;
+import com.foodrating.service.RatingSubmission;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RecommendationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private DishFixtures dishFixtures;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private DishSimilarityIndex dishSimilarityIndex;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    // Raters are unique to each test, so ratings from other tests never link these dishes
+    private String prefix;
+
+    @BeforeEach
+    public void setUp() {
+        prefix = "similar-" + System.nanoTime() + "-";
+    }
+
+    @Test
+    public void testCoRatedDishesAreSimilarAndRecommended() throws Exception {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        Long paneer = dishFixtures.create(canteen.getId(), "Similar Paneer Tikka", "Similar Test");
+        Long naan = dishFixtures.create(canteen.getId(), "Similar Butter Naan", "Similar Test");
+        Long upma = dishFixtures.create(canteen.getId(), "Similar Upma", "Similar Test");
+
+        Instant now = Instant.now();
+        ratingService.recordAll(List.of(
+                new RatingSubmission(paneer, prefix + "a", 5, now),
+                new RatingSubmission(naan, prefix + "a", 5, now),
+                new RatingSubmission(upma, prefix + "a", 1, now),
+                new RatingSubmission(paneer, prefix + "b", 4, now),
+                new RatingSubmission(naan, prefix + "b", 5, now),
+                new RatingSubmission(upma, prefix + "b", 2, now),
+                new RatingSubmission(paneer, prefix + "c", 5, now)));
+        dishSimilarityIndex.refresh();
+
+        mockMvc.perform(get("/api/dishes/" + paneer + "/similar"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].dish.id").value(naan))
+               .andExpect(jsonPath("$[0].dish.name").value("Similar Butter Naan"))
+               .andExpect(jsonPath("$[*].dish.id", not(hasItem(upma.intValue()))));
+
+        // c liked paneer: naan comes next, upma (disliked by paneer's fans) does not
+        mockMvc.perform(get("/api/users/" + prefix + "c/recommendations?limit=5"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)))
+               .andExpect(jsonPath("$[0].dish.id").value(naan));
+
+        // Already rated dishes are never recommended back
+        mockMvc.perform(get("/api/users/" + prefix + "a/recommendations"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    public void testDeletedDishDropsOutAfterRefresh() throws Exception {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        Long idli = dishFixtures.create(canteen.getId(), "Similar Idli", "Similar Test");
+        Long sambar = dishFixtures.create(canteen.getId(), "Similar Sambar", "Similar Test");
+
+        Instant now = Instant.now();
+        ratingService.recordAll(List.of(
+                new RatingSubmission(idli, prefix + "a", 5, now),
+                new RatingSubmission(sambar, prefix + "a", 5, now),
+                new RatingSubmission(idli, prefix + "b", 4, now),
+                new RatingSubmission(sambar, prefix + "b", 4, now)));
+        dishSimilarityIndex.refresh();
+
+        mockMvc.perform(get("/api/dishes/" + idli + "/similar"))
+               .andExpect(jsonPath("$[0].dish.id").value(sambar));
+
+        catalogService.deleteDish(sambar, version -> true);
+        dishSimilarityIndex.refresh();
+
+        mockMvc.perform(get("/api/dishes/" + idli + "/similar"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/dishes/" + sambar + "/similar"))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testUnknownUserGetsNoRecommendations() throws Exception {
+        mockMvc.perform(get("/api/users/" + prefix + "nobody/recommendations"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
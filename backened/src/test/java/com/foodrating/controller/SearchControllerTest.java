@@ -0,0 +1,68 @@
+package com.foodrating.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs against the H2 fallback; the ranking contract (name matches first) is the same on PostgreSQL
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testSearchFindsDishesByName() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", "pizza"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].type").value("dish"))
+                .andExpect(jsonPath("$.items[0].name").value("Margherita Pizza"));
+    }
+
+    @Test
+    public void testSearchRanksNameMatchesAboveDescriptionMatches() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", "Veg Noodles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Veg Noodles"))
+                .andExpect(jsonPath("$.items[1].name").value("Veg Noodles"));
+    }
+
+    @Test
+    public void testSearchCoversCanteens() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", "Rishabs Canteen"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].type").value("canteen"))
+                .andExpect(jsonPath("$.items[0].canteenId").isNumber());
+    }
+
+    @Test
+    public void testSearchPaginates() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", "canteen").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    public void testSearchTreatsWildcardsLiterally() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", "%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    @Test
+    public void testBlankQueryIsRejected() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", "  "))
+                .andExpect(status().isBadRequest());
+    }
+}
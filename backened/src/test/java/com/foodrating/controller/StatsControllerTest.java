@@ -0,0 +1,100 @@
+package com.foodrating.controller;
+
+import com.foodrating.DishFixtures;
+import com.foodrating.config.CacheConfig;
+import com.foodrating.dto.CanteenMenu;
+import com.foodrating.dto.ScheduleEntry;
+import com.foodrating.entity.Canteen;
+import com.foodrating.service.CatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class StatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private DishFixtures dishFixtures;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long canteenId;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.STATS).clear();
+        String name = "Stats Canteen " + System.nanoTime();
+        CanteenMenu menu = catalogService.createCanteen(new Canteen(name, "Block S", null));
+        canteenId = menu.id();
+    }
+
+    @Test
+    public void testCanteenAndCategoryAggregates() throws Exception {
+        String category = "Stats " + canteenId;
+        LocalDate today = LocalDate.now();
+        dishFixtures.create(canteenId, "Served today", category, 10.0, 3, today);
+        dishFixtures.create(canteenId, "Served yesterday", category, 20.0, 3, today.minusDays(1));
+        Long scheduled = dishFixtures.create(canteenId, "Scheduled daily", category, 60.0, 3, today.minusDays(1));
+        catalogService.replaceSchedule(scheduled, List.of(new ScheduleEntry(null, Set.of(), null, null)));
+
+        String canteen = "$[?(@.canteenId == " + canteenId + ")]";
+        mockMvc.perform(get("/api/stats/canteens"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30"))
+                .andExpect(jsonPath(canteen + ".dishCount", contains(3)))
+                .andExpect(jsonPath(canteen + ".averagePrice", contains(30.0)))
+                .andExpect(jsonPath(canteen + ".minPrice", contains(10.0)))
+                .andExpect(jsonPath(canteen + ".maxPrice", contains(60.0)))
+                .andExpect(jsonPath(canteen + ".ratingCount", contains(0)))
+                .andExpect(jsonPath(canteen + ".availableToday", contains(2)));
+
+        String byCategory = "$[?(@.category == '" + category + "')]";
+        mockMvc.perform(get("/api/stats/categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(byCategory + ".dishCount", contains(3)))
+                .andExpect(jsonPath(byCategory + ".canteenCount", contains(1)))
+                .andExpect(jsonPath(byCategory + ".availableToday", contains(2)));
+    }
+
+    @Test
+    public void testStatsAreServedFromCacheUntilTheyExpire() throws Exception {
+        String canteen = "$.canteens[?(@.canteenId == " + canteenId + ")]";
+        mockMvc.perform(get("/api/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(canteen + ".dishCount", contains(0)))
+                .andExpect(jsonPath("$.categories").isArray());
+
+        dishFixtures.create(canteenId, "Cached", "Stats cache", 15.0, 3, LocalDate.now());
+
+        mockMvc.perform(get("/api/stats"))
+                .andExpect(jsonPath(canteen + ".dishCount", contains(0)));
+
+        cacheManager.getCache(CacheConfig.STATS).clear();
+        mockMvc.perform(get("/api/stats"))
+                .andExpect(jsonPath(canteen + ".dishCount", contains(1)));
+    }
+}
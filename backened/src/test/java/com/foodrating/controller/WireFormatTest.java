@@ -0,0 +1,87 @@
+package com.foodrating.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.repository.DishRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs against a real server, since compression is applied by Tomcat rather than by Spring MVC
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class WireFormatTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void testMenuInBinaryFormatsMatchesJson() throws Exception {
+        String menu = "/api/dishes/canteen/" + canteenRepository.findAll().get(0).getId();
+        HttpResponse<byte[]> json = get(menu, "application/json", "identity");
+        HttpResponse<byte[]> cbor = get(menu, "application/cbor", "identity");
+        HttpResponse<byte[]> smile = get(menu, "application/x-jackson-smile", "identity");
+
+        assertEquals("application/cbor", cbor.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("application/x-jackson-smile", smile.headers().firstValue("Content-Type").orElseThrow());
+        assertTrue(cbor.headers().allValues("Vary").stream()
+                        .flatMap(vary -> Arrays.stream(vary.split(",")))
+                        .anyMatch(header -> header.trim().equals("Accept")),
+                   cbor.headers().toString());
+
+        JsonNode expected = new ObjectMapper().readTree(json.body());
+        assertEquals(expected, new ObjectMapper(new CBORFactory()).readTree(cbor.body()));
+        assertEquals(expected, new ObjectMapper(new SmileFactory()).readTree(smile.body()));
+        assertTrue(cbor.body().length < json.body().length);
+        assertTrue(smile.body().length < json.body().length);
+    }
+
+    @Test
+    public void testStreamedJsonExportIsGzipped() throws Exception {
+        HttpResponse<byte[]> response = get("/api/bulk/dishes?format=json", "application/json", "gzip");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElseThrow());
+        JsonNode dishes;
+        try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            dishes = new ObjectMapper().readTree(body);
+        }
+        assertTrue(dishes.isArray());
+        assertEquals(dishRepository.count(), dishes.size());
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String encoding) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept)
+                .header("Accept-Encoding", encoding)
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        return response;
+    }
+}
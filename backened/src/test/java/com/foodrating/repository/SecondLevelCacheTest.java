@@ -0,0 +1,118 @@
+package com.foodrating.repository;
+
+import com.foodrating.dto.DishView;
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.entity.RatingDelta;
+import com.foodrating.service.CatalogService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Entity, collection and query reads must be answered from the second-level cache once warm
+@SpringBootTest
+@ActiveProfiles("test")
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private RatingAggregateRepository ratingAggregateRepository;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private Long canteenId;
+    private Long dishId;
+
+    @BeforeEach
+    public void setUp() {
+        canteenId = canteenRepository.findAll().get(0).getId();
+        dishId = dishRepository.findByCanteenId(canteenId).get(0).getId();
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @Test
+    public void testEntityReadsRunNoSqlAfterWarmUp() {
+        canteenRepository.findById(canteenId);
+        dishRepository.findById(dishId);
+        statistics.clear();
+
+        assertTrue(canteenRepository.findById(canteenId).isPresent());
+        assertTrue(dishRepository.findById(dishId).isPresent());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    public void testCanteenDishesAndDishQueriesRunNoSqlAfterWarmUp() {
+        int menuSize = menuSize();
+        String category = dishRepository.findById(dishId).orElseThrow().getCategory();
+        int categorySize = dishRepository.findByCategory(category).size();
+        dishRepository.findByCanteenId(canteenId);
+        statistics.clear();
+
+        assertEquals(menuSize, menuSize());
+        assertEquals(categorySize, dishRepository.findByCategory(category).size());
+        assertEquals(menuSize, dishRepository.findByCanteenId(canteenId).size());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    public void testWritesAreVisibleThroughTheCache() {
+        int menuSize = menuSize();
+        long ratingCount = dishRepository.findById(dishId).orElseThrow().getRatingStats().getCount();
+        dishRepository.findByCanteenId(canteenId);
+
+        // A new dish evicts its canteen's cached collection and invalidates cached dish queries
+        Dish dish = new Dish("Cache Test Dish", "Second-level cache test", "Cache Test", 25.00, 4);
+        dish.setCanteen(canteenRepository.findById(canteenId).orElseThrow());
+        DishView created = catalogService.createDish(dish);
+        assertEquals(menuSize + 1, menuSize());
+        assertEquals(menuSize + 1, dishRepository.findByCanteenId(canteenId).size());
+
+        // Rating increments are plain JDBC updates; the repository evicts what they touched
+        transactionTemplate.executeWithoutResult(status ->
+                ratingAggregateRepository.applyToDishes(Map.of(dishId, RatingDelta.added(5))));
+        assertEquals(ratingCount + 1, dishRepository.findById(dishId).orElseThrow().getRatingStats().getCount());
+
+        transactionTemplate.executeWithoutResult(status ->
+                ratingAggregateRepository.applyToDishes(Map.of(dishId, RatingDelta.added(5).negate())));
+        catalogService.deleteDish(created.id(), version -> true);
+    }
+
+    private int menuSize() {
+        return transactionTemplate.execute(status -> {
+            Canteen canteen = canteenRepository.findById(canteenId).orElseThrow();
+            return canteen.getDishes().size();
+        });
+    }
+}
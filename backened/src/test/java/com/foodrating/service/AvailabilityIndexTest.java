@@ -0,0 +1,107 @@
+package com.foodrating.service;
+
+import com.foodrating.DishFixtures;
+import com.foodrating.dto.DailyMenu;
+import com.foodrating.dto.ScheduleEntry;
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.MealSlot;
+import com.foodrating.repository.CanteenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class AvailabilityIndexTest {
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private DailyMenuService dailyMenuService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private DishFixtures dishFixtures;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    @Test
+    public void testDishWithoutRulesIsServedOnItsDateAllDay() {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        LocalDate date = LocalDate.now().plusDays(3);
+        Long dishId = dishFixtures.create(canteen.getId(), "Availability Poha", "Availability Test", 40.00, 3, date);
+
+        assertTrue(availabilityIndex.servedOn(canteen.getId(), date)
+                                    .contains(new AvailabilityIndex.Serving(dishId, null)));
+        assertFalse(isServed(canteen, dishId, date.plusDays(1)));
+    }
+
+    @Test
+    public void testWeekdayRulesReplaceTheSingleDate() {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        LocalDate monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        Long dishId = dishFixtures.create(canteen.getId(), "Availability Thali", "Availability Test", 40.00, 3, monday.plusDays(1));
+
+        catalogService.replaceSchedule(dishId, List.of(
+                new ScheduleEntry(MealSlot.LUNCH, Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), null, null),
+                new ScheduleEntry(MealSlot.DINNER, Set.of(DayOfWeek.MONDAY), null, monday)));
+
+        assertEquals(List.of(new AvailabilityIndex.Serving(dishId, MealSlot.LUNCH),
+                             new AvailabilityIndex.Serving(dishId, MealSlot.DINNER)),
+                     servings(canteen, dishId, monday));
+        assertEquals(List.of(new AvailabilityIndex.Serving(dishId, MealSlot.LUNCH)),
+                     servings(canteen, dishId, monday.plusDays(2)));
+        // Past the DINNER rule's end date, and off the old single date
+        assertEquals(List.of(new AvailabilityIndex.Serving(dishId, MealSlot.LUNCH)),
+                     servings(canteen, dishId, monday.plusWeeks(1)));
+        assertFalse(isServed(canteen, dishId, monday.plusDays(1)));
+        // Beyond the precomputed horizon the rules are evaluated on demand
+        assertTrue(isServed(canteen, dishId, monday.plusWeeks(10)));
+
+        DailyMenu lunch = dailyMenuService.findDailyMenu(canteen.getId(), monday, MealSlot.LUNCH).orElseThrow();
+        assertTrue(lunch.slots().get(MealSlot.LUNCH).stream().anyMatch(dish -> dish.id().equals(dishId)));
+        assertFalse(lunch.slots().containsKey(MealSlot.DINNER));
+
+        // Clearing the rules falls back to the dish's own date
+        catalogService.replaceSchedule(dishId, List.of());
+        assertFalse(isServed(canteen, dishId, monday));
+        assertTrue(isServed(canteen, dishId, monday.plusDays(1)));
+    }
+
+    @Test
+    public void testDeletedDishLeavesTheIndex() {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        LocalDate today = LocalDate.now();
+        Long dishId = dishFixtures.create(canteen.getId(), "Availability Idli", "Availability Test", 40.00, 3, today);
+        assertTrue(isServed(canteen, dishId, today));
+
+        catalogService.deleteDish(dishId, version -> true);
+
+        assertFalse(isServed(canteen, dishId, today));
+    }
+
+    private boolean isServed(Canteen canteen, Long dishId, LocalDate date) {
+        return !servings(canteen, dishId, date).isEmpty();
+    }
+
+    private List<AvailabilityIndex.Serving> servings(Canteen canteen, Long dishId, LocalDate date) {
+        return availabilityIndex.servedOn(canteen.getId(), date).stream()
+                                .filter(serving -> serving.dishId() == dishId)
+                                .toList();
+    }
+}
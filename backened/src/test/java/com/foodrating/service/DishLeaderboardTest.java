@@ -0,0 +1,123 @@
+package com.foodrating.service;
+
+import com.foodrating.DishFixtures;
+import com.foodrating.dto.LeaderboardEntry;
+import com.foodrating.entity.Canteen;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.repository.DishRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class DishLeaderboardTest {
+
+    @Autowired
+    private DishLeaderboard dishLeaderboard;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private DishFixtures dishFixtures;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    @SpyBean
+    private DishRepository dishRepository;
+
+    @Test
+    public void testRatingsReRankWithoutReload() {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        Long loved = dishFixtures.create(canteen.getId(), "Leaderboard Biryani", "Board Test");
+        Long disliked = dishFixtures.create(canteen.getId(), "Leaderboard Upma", "Board Test");
+
+        Instant now = Instant.now();
+        ratingService.recordAll(List.of(
+                new RatingSubmission(loved, "fan-1", 5, now),
+                new RatingSubmission(loved, "fan-2", 5, now),
+                new RatingSubmission(disliked, "fan-1", 1, now)));
+
+        List<LeaderboardEntry> today = dishLeaderboard.top(LeaderboardWindow.DAY, canteen.getId(), "Board Test", 10);
+        assertEquals(2, today.size());
+        assertEquals(loved, today.get(0).dishId());
+        assertEquals(2, today.get(0).ratingCount());
+        assertEquals(5.0, today.get(0).averageRating());
+
+        // A changed mind replaces the earlier score in every window
+        ratingService.recordAll(List.of(
+                new RatingSubmission(loved, "fan-1", 1, now),
+                new RatingSubmission(loved, "fan-2", 1, now),
+                new RatingSubmission(disliked, "fan-1", 5, now)));
+
+        today = dishLeaderboard.top(LeaderboardWindow.DAY, null, "board test", 10);
+        assertEquals(disliked, today.get(0).dishId());
+        assertEquals(2, today.get(1).ratingCount());
+        assertEquals(1.0, today.get(1).averageRating());
+
+        List<LeaderboardEntry> allTime = dishLeaderboard.top(LeaderboardWindow.ALL, canteen.getId(), "Board Test", 10);
+        assertEquals(disliked, allTime.get(0).dishId());
+    }
+
+    @Test
+    public void testDeletedDishLeavesEveryBoard() {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        Long dishId = dishFixtures.create(canteen.getId(), "Leaderboard Vada", "Board Test");
+        ratingService.recordAll(List.of(new RatingSubmission(dishId, "fan-3", 4, Instant.now())));
+
+        catalogService.deleteDish(dishId, version -> true);
+
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            assertTrue(dishLeaderboard.top(window, null, "Board Test", DishLeaderboard.MAX_LIMIT).stream()
+                                      .noneMatch(entry -> entry.dishId().equals(dishId)));
+        }
+    }
+
+    @Test
+    public void testRatingsCommittedDuringLoadAreCountedOnce() throws Exception {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        Long before = dishFixtures.create(canteen.getId(), "Leaderboard Pongal", "Board Test");
+        Long after = dishFixtures.create(canteen.getId(), "Leaderboard Khichdi", "Board Test");
+        Instant now = Instant.now();
+
+        // Ratings commit from another thread just before and just after the load's snapshot
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> ratingService.recordAll(List.of(
+                    new RatingSubmission(before, "fan-4", 5, now),
+                    new RatingSubmission(before, "fan-5", 4, now)))).get(10, TimeUnit.SECONDS);
+            Object rows = invocation.callRealMethod();
+            CompletableFuture.runAsync(() -> ratingService.recordAll(List.of(
+                    new RatingSubmission(after, "fan-4", 2, now)))).get(10, TimeUnit.SECONDS);
+            return rows;
+        }).when(dishRepository).findRankingRows();
+
+        dishLeaderboard.load();
+
+        List<LeaderboardEntry> allTime = dishLeaderboard.top(LeaderboardWindow.ALL, canteen.getId(), "Board Test", DishLeaderboard.MAX_LIMIT);
+        assertEquals(2, ratingCount(allTime, before));
+        assertEquals(1, ratingCount(allTime, after));
+        List<LeaderboardEntry> today = dishLeaderboard.top(LeaderboardWindow.DAY, canteen.getId(), "Board Test", DishLeaderboard.MAX_LIMIT);
+        assertEquals(2, ratingCount(today, before));
+        assertEquals(1, ratingCount(today, after));
+    }
+
+    private static long ratingCount(List<LeaderboardEntry> entries, Long dishId) {
+        return entries.stream().filter(entry -> entry.dishId().equals(dishId)).findFirst().orElseThrow().ratingCount();
+    }
+}
@@ -0,0 +1,131 @@
+package com.foodrating.service;
+
+import com.foodrating.dto.DishView;
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.entity.OutboxEntry;
+import com.foodrating.event.ChangeType;
+import com.foodrating.event.OutboxEvent;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.repository.OutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"foodrating.outbox.sink=in-process", "foodrating.outbox.poll-ms=3600000"})
+@ActiveProfiles("test")
+public class OutboxPollerTest {
+
+    @Autowired
+    private OutboxPoller outboxPoller;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    @Autowired
+    private RecordingConsumer consumer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testChangesArePublishedOnceInCommitOrder() {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        Dish dish = new Dish("Outbox Pongal", "Outbox test dish", "Outbox Test", 35.00, 3);
+        dish.setCanteen(canteen);
+        DishView created = catalogService.createDish(dish);
+        Dish edit = new Dish("Outbox Pongal Special", "Outbox test dish", "Outbox Test", 45.00, 4);
+        catalogService.updateDish(created.id(), edit, version -> true);
+        catalogService.deleteDish(created.id(), version -> true);
+
+        outboxPoller.poll();
+
+        List<OutboxEvent> events = consumer.events.stream()
+                .filter(event -> event.aggregateType().equals(OutboxEntry.DISH) && event.aggregateId() == created.id())
+                .toList();
+        assertEquals(List.of(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.DELETED),
+                     events.stream().map(OutboxEvent::type).toList());
+        assertTrue(events.get(0).id() < events.get(1).id() && events.get(1).id() < events.get(2).id());
+        assertTrue(events.get(1).payload().contains("Outbox Pongal Special"));
+        assertEquals(0, outboxRepository.countUnpublished());
+    }
+
+    @Test
+    public void testEntryCommittingAfterAHigherIdIsStillPublished() throws Exception {
+        long slowDish = -System.nanoTime();
+        long fastDish = slowDish - 1;
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        AtomicLong lowerId = new AtomicLong();
+
+        // The slow transaction takes its id first, then stays open while the fast one commits a higher id
+        Thread slow = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            lowerId.set(outboxRepository.saveAndFlush(entry(slowDish)).getId());
+            written.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        slow.start();
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        Long higherId = transactionTemplate.execute(status -> outboxRepository.saveAndFlush(entry(fastDish)).getId());
+        assertTrue(lowerId.get() < higherId);
+
+        outboxPoller.poll();
+        commit.countDown();
+        slow.join();
+        outboxPoller.poll();
+
+        List<Long> published = consumer.events.stream()
+                .filter(event -> event.aggregateId() == slowDish || event.aggregateId() == fastDish)
+                .map(OutboxEvent::id)
+                .toList();
+        // Published in commit order, so the lower id comes second; a global high-water mark would drop it
+        assertEquals(List.of(higherId, lowerId.get()), published);
+        assertEquals(0, outboxRepository.countUnpublished());
+    }
+
+    private static OutboxEntry entry(long dishId) {
+        return new OutboxEntry(OutboxEntry.DISH, dishId, ChangeType.UPDATED, "{}", Instant.now());
+    }
+
+    static class RecordingConsumer {
+        final List<OutboxEvent> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void on(OutboxEvent event) {
+            events.add(event);
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RecordingConsumer recordingConsumer() {
+            return new RecordingConsumer();
+        }
+    }
+}
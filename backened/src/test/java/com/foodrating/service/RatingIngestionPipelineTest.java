@@ -0,0 +1,93 @@
+package com.foodrating.service;
+
+import com.foodrating.DishFixtures;
+import com.foodrating.repository.CanteenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+// Failures are injected through a spy on RatingService; everything else is the real write path
+@SpringBootTest(properties = "foodrating.ratings.ingest.retry-backoff-ms=10")
+@ActiveProfiles("test")
+public class RatingIngestionPipelineTest {
+
+    @Autowired
+    private RatingIngestionPipeline pipeline;
+
+    @SpyBean
+    private RatingService ratingService;
+
+    @Autowired
+    private DishFixtures dishFixtures;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testTransientFailureIsRetried() throws Exception {
+        Long dishId = dishFixtures.create(canteenRepository.findAll().get(0).getId(), "Retry Vada", "Ingest Test");
+        AtomicBoolean failed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new CannotAcquireLockException("deadlock detected");
+            }
+            return invocation.callRealMethod();
+        }).when(ratingService).recordAll(anyList());
+
+        assertTrue(pipeline.submit(new RatingSubmission(dishId, "retry-1", 4, Instant.now())));
+
+        awaitRatings(dishId, 1);
+        assertTrue(failed.get());
+        assertEquals(0, dropped("unavailable"));
+    }
+
+    @Test
+    public void testBadSubmissionIsIsolatedFromItsBatch() throws Exception {
+        Long dishId = dishFixtures.create(canteenRepository.findAll().get(0).getId(), "Bisect Idli", "Ingest Test");
+        double rejectedBefore = dropped("rejected");
+        doAnswer(invocation -> {
+            List<RatingSubmission> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(submission -> submission.userId().equals("poison"))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return invocation.callRealMethod();
+        }).when(ratingService).recordAll(anyList());
+
+        Instant now = Instant.now();
+        assertTrue(pipeline.submit(new RatingSubmission(dishId, "bisect-1", 5, now)));
+        assertTrue(pipeline.submit(new RatingSubmission(dishId, "poison", 1, now)));
+        assertTrue(pipeline.submit(new RatingSubmission(dishId, "bisect-2", 3, now)));
+
+        awaitRatings(dishId, 2);
+        assertEquals(rejectedBefore + 1, dropped("rejected"));
+    }
+
+    private void awaitRatings(Long dishId, long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ratingService.summarize(dishId).orElseThrow().count() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(count, ratingService.summarize(dishId).orElseThrow().count());
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.counter("foodrating.ratings.ingest.dropped", "reason", reason).count();
+    }
+}
@@ -0,0 +1,102 @@
+package com.foodrating.service;
+
+import com.foodrating.dto.DishView;
+import com.foodrating.dto.RatingSummary;
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.repository.DishRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RatingServiceTest {
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private CanteenRepository canteenRepository;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Test
+    public void testRatingsMaintainRunningAggregates() {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        Dish dish = new Dish("Test Dosa", "Plain dosa", "Indian", 30.00, 3);
+        dish.setCanteen(canteen);
+        Long dishId = dishRepository.save(dish).getId();
+        long canteenCountBefore = canteen.getRatingStats().getCount();
+        long canteenSumBefore = canteen.getRatingStats().getSum();
+
+        Instant now = Instant.now();
+        ratingService.recordAll(List.of(
+                new RatingSubmission(dishId, "student-1", 5, now),
+                new RatingSubmission(dishId, "student-2", 3, now)));
+        // Re-rating replaces the earlier score instead of adding a new one
+        ratingService.recordAll(List.of(new RatingSubmission(dishId, "student-1", 4, now)));
+        RatingSummary summary = ratingService.summarize(dishId).orElseThrow();
+
+        assertEquals(2, summary.count());
+        assertEquals(3.5, summary.average());
+        assertEquals(0L, summary.histogram().get(5));
+        assertEquals(1L, summary.histogram().get(4));
+        assertEquals(1L, summary.histogram().get(3));
+
+        Canteen reloaded = canteenRepository.findById(canteen.getId()).orElseThrow();
+        assertEquals(canteenCountBefore + 2, reloaded.getRatingStats().getCount());
+        assertEquals(canteenSumBefore + 7, reloaded.getRatingStats().getSum());
+    }
+
+    @Test
+    public void testBatchCoalescesPerUserAndSkipsUnchangedScores() {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        Dish dish = new Dish("Test Idli", "Two idlis", "Indian", 20.00, 3);
+        dish.setCanteen(canteen);
+        Long dishId = dishRepository.save(dish).getId();
+
+        Instant now = Instant.now();
+        int changed = ratingService.recordAll(List.of(
+                new RatingSubmission(dishId, "student-3", 1, now),
+                new RatingSubmission(dishId, "student-3", 5, now),
+                new RatingSubmission(-1L, "student-3", 5, now)));
+        assertEquals(1, changed);
+        assertEquals(0, ratingService.recordAll(List.of(new RatingSubmission(dishId, "student-3", 5, now))));
+
+        RatingSummary summary = ratingService.summarize(dishId).orElseThrow();
+        assertEquals(1, summary.count());
+        assertEquals(5.0, summary.average());
+    }
+
+    @Test
+    public void testEditKeepsTheInitialRatingOnceRated() {
+        Canteen canteen = canteenRepository.findAll().get(0);
+        Dish dish = new Dish("Test Uttapam", "Onion uttapam", "Indian", 35.00, 3);
+        dish.setCanteen(canteen);
+        Long dishId = dishRepository.save(dish).getId();
+
+        // Unrated: the admin may still correct the initial rating
+        catalogService.updateDish(dishId, new Dish("Test Uttapam", "Onion uttapam", "Indian", 35.00, 2), version -> true);
+        assertEquals(2, dishRepository.findById(dishId).orElseThrow().getRating());
+
+        ratingService.recordAll(List.of(new RatingSubmission(dishId, "student-4", 5, Instant.now())));
+        DishView edited = catalogService.updateDish(dishId, new Dish("Test Uttapam", "Onion uttapam", "Indian", 40.00, 1),
+                                                    version -> true).orElseThrow();
+
+        assertEquals(5, edited.rating());
+        assertEquals(40.00, edited.price());
+        assertEquals(2, dishRepository.findById(dishId).orElseThrow().getRating());
+    }
+}
@@ -0,0 +1,29 @@
+package com.foodrating.benchmarks;
+
+import com.foodrating.FoodRatingApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Boots the backend on the bench profile against a fresh in-process database and loads the generated catalogue
+final class BenchmarkContext {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, int canteens) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FoodRatingApplication.class)
+                .profiles("bench")
+                .web(webApplicationType)
+                .properties("spring.datasource.url=jdbc:h2:mem:bench-" + DATABASES.incrementAndGet() +
+                            ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+                .run();
+        CatalogGenerator.populate(context.getBean(JdbcTemplate.class), canteens);
+        return context;
+    }
+}
@@ -0,0 +1,131 @@
+package com.foodrating.benchmarks;
+
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Scales the DataLoader sample set: canteen i copies sample canteen i % 5, and each canteen gets
+// dishesPerCanteen dishes cycling through the sample dishes. 10,000 canteens x 100 dishes = 1M dishes.
+public final class CatalogGenerator {
+
+    public static final int DISHES_PER_CANTEEN = 100;
+
+    private static final int BATCH_SIZE = 10_000;
+
+    // name, location, description
+    private static final String[][] CANTEENS = {
+        {"Main Campus Canteen", "Building near Ladies Hostel", "The main canteen serving variety of dishes"},
+        {"Rishabs Canteen", "Near SSN Admin Block", "Healthy and organic food options along with all juices"},
+        {"Snow Cubes Canteen", "Near SSN Admin Block", "All fancy snacks with cakes and burgers."},
+        {"Ashwins Canteen", "Near Clock Tower and beside Ladies hostel", "Stationery, groceries, foods and snacks available"},
+        {"Metro Cafe Canteen", "Near SSN ECE Block", "Newly canteen with all variety dishes"}
+    };
+
+    // name, description, category, price, rating
+    private static final Object[][] DISHES = {
+        {"Veg Noodles", "Classic veg noodles with tomato sauce and sweet.", "Chinese", 90.00, 4},
+        {"Chapathi with Kurma", "2 Chapathis with available vegetables and sweets.", "Indian", 35.00, 2},
+        {"Orange Juice", "Sweet and tasty Orange", "Indian", 50.00, 4},
+        {"Margherita Pizza", "Classic pizza with tomato sauce and mozzarella cheese", "Italian", 140.00, 4},
+        {"Cheese Burger", "Beef patty with cheese, lettuce and special sauce", "American", 50.00, 4},
+        {"Samosa with sauce", "Fresh potato samosa", "Healthy", 15.00, 4},
+        {"Potato Chips", "All variety of chips", "Healthy", 20.00, 4},
+        {"Pani Puri", "Pani Puri with best filling", "Indian", 40.00, 5}
+    };
+
+    // Btree part of the V3 and V6 migrations; the H2 schema comes from the mappings and lacks it
+    private static final String[] INDEXES = {
+        "CREATE INDEX IF NOT EXISTS idx_dishes_canteen_id ON dishes (canteen_id, id)",
+        "CREATE INDEX IF NOT EXISTS idx_dishes_category_id ON dishes (category, id)",
+        "CREATE INDEX IF NOT EXISTS idx_dishes_rating ON dishes (rating)",
+        "CREATE INDEX IF NOT EXISTS idx_dishes_available_date ON dishes (available_date, canteen_id)",
+        "CREATE INDEX IF NOT EXISTS idx_dishes_category_price ON dishes (category, price)",
+        "CREATE INDEX IF NOT EXISTS idx_dishes_price ON dishes (price)",
+        "CREATE INDEX IF NOT EXISTS idx_canteens_location_id ON canteens (location, id)"
+    };
+
+    private CatalogGenerator() {
+    }
+
+    public static long dishCount(int canteens) {
+        return (long) canteens * DISHES_PER_CANTEEN;
+    }
+
+    // Detached entity graph for the serialization benchmarks; no database involved
+    public static Canteen canteenWithDishes(long id, int dishCount) {
+        String[] template = CANTEENS[(int) (id % CANTEENS.length)];
+        Canteen canteen = new Canteen(template[0] + " " + id, template[1], template[2]);
+        canteen.setId(id);
+        for (int i = 0; i < dishCount; i++) {
+            Object[] dishTemplate = DISHES[i % DISHES.length];
+            Dish dish = new Dish((String) dishTemplate[0], (String) dishTemplate[1], (String) dishTemplate[2],
+                                 (Double) dishTemplate[3], (Integer) dishTemplate[4]);
+            dish.setId(id * DISHES_PER_CANTEEN + i);
+            canteen.addDish(dish);
+        }
+        return canteen;
+    }
+
+    // Inserts canteens 1..canteens and their dishes with JDBC batches, then moves the id sequences past them
+    public static void populate(JdbcTemplate jdbcTemplate, int canteens) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= canteens; id++) {
+            String[] template = CANTEENS[(int) (id % CANTEENS.length)];
+            batch.add(new Object[] {id, template[0] + " " + id, template[1], template[2]});
+            if (batch.size() == BATCH_SIZE) {
+                insertCanteens(jdbcTemplate, batch);
+            }
+        }
+        insertCanteens(jdbcTemplate, batch);
+
+        Date today = Date.valueOf(LocalDate.now());
+        long dishId = 1;
+        for (long canteenId = 1; canteenId <= canteens; canteenId++) {
+            for (int i = 0; i < DISHES_PER_CANTEEN; i++, dishId++) {
+                Object[] template = DISHES[i % DISHES.length];
+                int rating = (Integer) template[4];
+                // A spread of rating counts so aggregates and rankings are not uniform
+                long ratingCount = dishId % 50;
+                batch.add(new Object[] {dishId, template[0], template[1], template[2], template[3], rating, today,
+                                        ratingCount, ratingCount * rating,
+                                        rating == 1 ? ratingCount : 0, rating == 2 ? ratingCount : 0,
+                                        rating == 3 ? ratingCount : 0, rating == 4 ? ratingCount : 0,
+                                        rating == 5 ? ratingCount : 0, canteenId});
+                if (batch.size() == BATCH_SIZE) {
+                    insertDishes(jdbcTemplate, batch);
+                }
+            }
+        }
+        insertDishes(jdbcTemplate, batch);
+
+        for (String index : INDEXES) {
+            jdbcTemplate.execute(index);
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE canteens_seq RESTART WITH " + (canteens + 1));
+        jdbcTemplate.execute("ALTER SEQUENCE dishes_seq RESTART WITH " + dishId);
+    }
+
+    private static void insertCanteens(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO canteens (id, name, location, description, version, " +
+                                     "rating_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5) " +
+                                     "VALUES (?, ?, ?, ?, 0, 0, 0, 0, 0, 0, 0, 0)", batch);
+            batch.clear();
+        }
+    }
+
+    private static void insertDishes(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            // Every rating of a dish is its seeded score, so the histogram is a single bucket
+            jdbcTemplate.batchUpdate("INSERT INTO dishes (id, name, description, category, price, rating, available_date, " +
+                                     "version, rating_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5, canteen_id) " +
+                                     "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+            batch.clear();
+        }
+    }
+}
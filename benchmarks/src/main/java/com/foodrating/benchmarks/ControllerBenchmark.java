@@ -0,0 +1,78 @@
+package com.foodrating.benchmarks;
+
+import com.foodrating.dto.CursorPage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Full MVC round-trips (filters, controller, service, cache, Jackson) through MockMvc, without the network
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ControllerBenchmark {
+
+    @Param({"100", "10000"})
+    public int canteens;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.SERVLET, canteens);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Served from the dish cache once warm
+    @Benchmark
+    public MvcResult getDish() throws Exception {
+        return mockMvc.perform(get("/api/dishes/" + randomDishId())).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getCanteenMenu() throws Exception {
+        return mockMvc.perform(get("/api/canteens/" + randomCanteenId())).andReturn();
+    }
+
+    // Never cached: one keyset query per request
+    @Benchmark
+    public MvcResult listDishesPage() throws Exception {
+        return mockMvc.perform(get("/api/dishes")
+                        .param("size", "20")
+                        .param("cursor", CursorPage.encode(randomDishId())))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult listCanteensPage() throws Exception {
+        return mockMvc.perform(get("/api/canteens")
+                        .param("size", "20")
+                        .param("cursor", CursorPage.encode(randomCanteenId())))
+                .andReturn();
+    }
+
+    private long randomCanteenId() {
+        return ThreadLocalRandom.current().nextLong(1, canteens + 1);
+    }
+
+    private long randomDishId() {
+        return ThreadLocalRandom.current().nextLong(1, CatalogGenerator.dishCount(canteens) + 1);
+    }
+}
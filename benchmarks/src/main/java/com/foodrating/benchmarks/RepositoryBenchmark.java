@@ -0,0 +1,80 @@
+package com.foodrating.benchmarks;
+
+import com.foodrating.dto.CanteenView;
+import com.foodrating.entity.Canteen;
+import com.foodrating.entity.Dish;
+import com.foodrating.repository.CanteenRepository;
+import com.foodrating.repository.DishRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Repository query methods against the generated catalogue in in-process H2 (10k or 1M dishes)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RepositoryBenchmark {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 21);
+
+    @Param({"100", "10000"})
+    public int canteens;
+
+    private ConfigurableApplicationContext context;
+    private DishRepository dishRepository;
+    private CanteenRepository canteenRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.NONE, canteens);
+        dishRepository = context.getBean(DishRepository.class);
+        canteenRepository = context.getBean(CanteenRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Dish> dishesByCanteen() {
+        return dishRepository.findByCanteenId(randomCanteenId());
+    }
+
+    @Benchmark
+    public Optional<Dish> dishWithCanteen() {
+        return dishRepository.findWithCanteenById(randomDishId());
+    }
+
+    @Benchmark
+    public List<Dish> dishPageByCategory() {
+        return dishRepository.findPageAfter(randomDishId(), "Indian", null, PAGE);
+    }
+
+    @Benchmark
+    public Optional<Canteen> canteenWithMenu() {
+        return canteenRepository.findWithDishesById(randomCanteenId());
+    }
+
+    @Benchmark
+    public List<CanteenView> canteenPage() {
+        return canteenRepository.findPageAfter(randomCanteenId(), null, PAGE);
+    }
+
+    private long randomCanteenId() {
+        return ThreadLocalRandom.current().nextLong(1, canteens + 1);
+    }
+
+    private long randomDishId() {
+        return ThreadLocalRandom.current().nextLong(1, CatalogGenerator.dishCount(canteens) + 1);
+    }
+}
@@ -0,0 +1,60 @@
+package com.foodrating.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodrating.dto.CanteenMenu;
+import com.foodrating.dto.DishView;
+import com.foodrating.entity.Canteen;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of a canteen with its menu, as the entity graph and as the DTOs the controllers return
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int dishes;
+
+    private ObjectMapper objectMapper;
+    private Canteen canteen;
+    private CanteenMenu menu;
+    private List<DishView> dishViews;
+    private byte[] menuJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // Same modules and features as the mapper Spring Boot configures for the controllers
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        canteen = CatalogGenerator.canteenWithDishes(1, dishes);
+        menu = CanteenMenu.from(canteen);
+        dishViews = canteen.getDishes().stream().map(DishView::from).toList();
+        menuJson = objectMapper.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public byte[] serializeCanteenEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(canteen);
+    }
+
+    @Benchmark
+    public byte[] serializeCanteenMenu() throws Exception {
+        return objectMapper.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public byte[] serializeDishViews() throws Exception {
+        return objectMapper.writeValueAsBytes(dishViews);
+    }
+
+    @Benchmark
+    public CanteenMenu deserializeCanteenMenu() throws Exception {
+        return objectMapper.readValue(menuJson, CanteenMenu.class);
+    }
+}
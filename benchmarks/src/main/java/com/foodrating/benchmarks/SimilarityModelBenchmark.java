@@ -0,0 +1,100 @@
+package com.foodrating.benchmarks;
+
+import com.foodrating.service.CoRatingModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Build, refresh and query cost of the similar-dishes model at campus scale, on synthetic ratings:
+// every dish belongs to one of CUISINES, each user mostly rates (and likes) dishes of a few favourite
+// cuisines, and the rest of their ratings go to popular dishes with mixed scores. With -prof gc the
+// build's gc.alloc.rate.norm is the memory it allocates per model.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SimilarityModelBenchmark {
+
+    private static final int CUISINES = 100;
+    private static final int FAVOURITES = 3;
+    private static final int RATINGS_PER_USER = 30;
+    private static final int NEIGHBOURS = 50;
+
+    @Param({"10000", "100000"})
+    public int users;
+
+    @Param({"1000", "10000"})
+    public int dishes;
+
+    // New ratings per refresh: a busy lunch hour's worth of ratings per refresh-ms
+    @Param({"500"})
+    public int batch;
+
+    private CoRatingModel model;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = build();
+        random = new SplittableRandom(42);
+    }
+
+    // Every rating loaded and every dish's neighbours computed, as at startup
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public CoRatingModel build() {
+        CoRatingModel built = new CoRatingModel(NEIGHBOURS);
+        for (int user = 0; user < users; user++) {
+            rateAs(built, user, new SplittableRandom(user));
+        }
+        built.refresh();
+        return built;
+    }
+
+    // New and changed ratings arriving between two background refreshes
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int refresh() {
+        for (int i = 0; i < batch; i++) {
+            model.rate(random.nextInt(dishes), "user-" + random.nextInt(users), 1 + random.nextInt(5));
+        }
+        return model.refresh();
+    }
+
+    @Benchmark
+    public List<CoRatingModel.ScoredDish> similar() {
+        return model.similar(random.nextInt(dishes), 10);
+    }
+
+    @Benchmark
+    public List<CoRatingModel.ScoredDish> recommend() {
+        return model.recommend("user-" + random.nextInt(users), 10);
+    }
+
+    // The user's ratings, drawn as they are applied so nothing but the model is kept
+    private void rateAs(CoRatingModel target, int user, SplittableRandom userRandom) {
+        String userId = "user-" + user;
+        int[] favourites = new int[FAVOURITES];
+        for (int i = 0; i < FAVOURITES; i++) {
+            favourites[i] = userRandom.nextInt(CUISINES);
+        }
+        for (int i = 0; i < RATINGS_PER_USER; i++) {
+            if (userRandom.nextDouble() < 0.7) {
+                int cuisine = favourites[userRandom.nextInt(FAVOURITES)];
+                int dish = cuisine + CUISINES * userRandom.nextInt(Math.max(1, dishes / CUISINES));
+                target.rate(dish, userId, 4 + userRandom.nextInt(2));
+            } else {
+                // Skewed towards low ids: a few dishes are rated by most users
+                double skew = userRandom.nextDouble();
+                target.rate((int) (skew * skew * dishes), userId, 1 + userRandom.nextInt(4));
+            }
+        }
+    }
+}
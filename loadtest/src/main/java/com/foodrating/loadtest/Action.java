@@ -0,0 +1,33 @@
+package com.foodrating.loadtest;
+
+// What a simulated client does in one step. Weights are per lunch-rush phase (build-up, peak, tail)
+// and are relative within a phase.
+public enum Action {
+    LIST_CANTEENS(20, 10, 5),
+    CANTEEN_MENU(35, 30, 15),
+    DISHES_BY_CANTEEN(20, 20, 10),
+    DISH_DETAIL(10, 10, 5),
+    SEARCH(8, 5, 2),
+    TOP_DISHES(5, 5, 8),
+    RATE_DISHES(2, 19, 54),
+    EDIT_DISH(0, 1, 1);
+
+    private final int[] weights;
+
+    Action(int... weights) {
+        this.weights = weights;
+    }
+
+    public int weight(Phase phase) {
+        return weights[phase.ordinal()];
+    }
+
+    public enum Phase {
+        // Queues form: mostly browsing menus, arrival rate climbing to the peak
+        BUILD_UP,
+        // Everyone is in: full mix at peak rate, ratings start arriving
+        PEAK,
+        // People finish eating: fewer reads, bursts of ratings
+        TAIL
+    }
+}
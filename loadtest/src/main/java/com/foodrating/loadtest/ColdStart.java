@@ -0,0 +1,136 @@
+package com.foodrating.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Boot-to-traffic measurement: launches the backend as a child process (so JVM options such as
+// -XX:SharedArchiveFile and -Dspring.aot.enabled apply), times how long it takes to report ready and
+// to answer a first request, then runs the lunch rush for the first minute and reports it like
+// LoadTest. The catalogue is only read, never topped up, so nothing warms the server before the
+// clock starts: populate the database beforehand (e.g. with a LoadTest run against it). All requests
+// come from one address, so the command should pass --foodrating.rate-limit.enabled=false; otherwise
+// most ratings and edits come back 429 and the report measures the limiter.
+//
+// Options (all --name=value): command (the backend's command line, required), port, ready-path,
+// boot-timeout (s), duration (s), peak-rate (req/s), seed, max-in-flight, report-dir, compare
+public class ColdStart {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        if (!options.containsKey("command")) {
+            throw new IllegalArgumentException("--command is required, e.g. --command=\"java -jar app.jar --spring.profiles.active=prod --foodrating.rate-limit.enabled=false\"");
+        }
+        List<String> command = List.of(options.get("command").trim().split("\\s+"));
+        String baseUrl = "http://localhost:" + options.getOrDefault("port", "8080");
+        String readyPath = options.getOrDefault("ready-path", "/actuator/health/readiness");
+        Duration bootTimeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("boot-timeout", "180")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        double peakRate = Double.parseDouble(options.getOrDefault("peak-rate", "500"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+        Path reportDir = Path.of(options.getOrDefault("report-dir", "reports"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(POLL_TIMEOUT)
+                .build();
+        Files.createDirectories(reportDir);
+        Path log = reportDir.resolve("cold-start-" + Instant.now().toString().replace(':', '-') + ".log");
+
+        long launched = System.nanoTime();
+        Process backend = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            // Ready: the probe answers 200, i.e. startup and any warm-up are done
+            long deadline = launched + bootTimeout.toNanos();
+            while (status(client, baseUrl + readyPath) != 200) {
+                if (!backend.isAlive()) {
+                    throw new IllegalStateException("Backend exited with " + backend.exitValue() + " during startup, see " + log);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Backend not ready after " + bootTimeout.toSeconds() + "s, see " + log);
+                }
+                Thread.sleep(10);
+            }
+            long ready = System.nanoTime();
+
+            // The first request a client would send once the instance is put in rotation
+            int firstStatus = status(client, baseUrl + "/api/canteens?size=20");
+            long firstResponse = System.nanoTime();
+
+            Recorder recorder = new Recorder();
+            Workload workload = new Workload(baseUrl, recorder);
+            workload.load();
+
+            System.out.printf("Cold start of %s%n", String.join(" ", command));
+            System.out.printf("%-30s %10.0f ms%n", "launch -> ready", (ready - launched) / 1e6);
+            System.out.printf("%-30s %10.0f ms  (status %d, %.1f ms after ready)%n", "launch -> first response",
+                              (firstResponse - launched) / 1e6, firstStatus, (firstResponse - ready) / 1e6);
+            System.out.printf("%nFirst %ds after ready: %d canteens, %d dishes, peak %.0f req/s%n",
+                              duration.toSeconds(), workload.canteenCount(), workload.dishCount(), peakRate);
+
+            Map<String, String> config = new LinkedHashMap<>();
+            config.put("target", "cold-start");
+            config.put("durationSeconds", String.valueOf(duration.toSeconds()));
+            config.put("peakRate", String.valueOf(peakRate));
+            config.put("seed", String.valueOf(seed));
+            config.put("canteens", String.valueOf(workload.canteenCount()));
+            config.put("dishes", String.valueOf(workload.dishCount()));
+            config.put("maxInFlight", String.valueOf(maxInFlight));
+
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            LunchRush rush = new LunchRush(workload, peakRate, duration, seed, maxInFlight);
+            rush.run();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Report report = Report.of(startedAt, config, seconds, rush.dropped(), recorder);
+            report.print(System.out);
+            Path file = report.write(reportDir);
+            System.out.printf("%nReport written to %s, backend log in %s%n", file, log);
+            if (options.containsKey("compare")) {
+                report.compareTo(Report.read(Path.of(options.get("compare"))), System.out);
+            }
+        } finally {
+            backend.destroy();
+            backend.waitFor();
+        }
+    }
+
+    // Status code, or -1 while the server is not listening yet
+    private static int status(HttpClient client, String url) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(POLL_TIMEOUT).GET().build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,92 @@
+package com.foodrating.loadtest;
+
+import com.foodrating.FoodRatingApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Replays a lunch rush against the backend and reports throughput, latency percentiles and error
+// rates per action. Without --base-url the backend is booted in-process (loadtest profile, H2);
+// --profiles=prod boots it against the local PostgreSQL instead. Either way the per-client rate limits
+// are turned off, since every request comes from this one address; start an instance targeted with
+// --base-url with --foodrating.rate-limit.enabled=false for the same reason.
+//
+// Options (all --name=value): base-url, profiles, duration (s), peak-rate (req/s), seed,
+// canteens, dishes-per-canteen, max-in-flight, report-dir, compare (path of an earlier report)
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "120")));
+        double peakRate = Double.parseDouble(options.getOrDefault("peak-rate", "500"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int canteens = Integer.parseInt(options.getOrDefault("canteens", "50"));
+        int dishesPerCanteen = Integer.parseInt(options.getOrDefault("dishes-per-canteen", "30"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.get("base-url");
+        if (baseUrl == null) {
+            application = new SpringApplicationBuilder(FoodRatingApplication.class)
+                    .profiles(options.getOrDefault("profiles", "loadtest").split(","))
+                    .properties("server.port=0", "foodrating.rate-limit.enabled=false")
+                    .run();
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+        }
+
+        try {
+            Recorder recorder = new Recorder();
+            Workload workload = new Workload(baseUrl, recorder);
+            workload.prepare(canteens, dishesPerCanteen);
+            System.out.printf("Lunch rush against %s: %d canteens, %d dishes, peak %.0f req/s for %ds%n",
+                              baseUrl, workload.canteenCount(), workload.dishCount(), peakRate, duration.toSeconds());
+
+            // Everything that shapes the load; reports only compare cleanly when these match
+            Map<String, String> config = new LinkedHashMap<>();
+            config.put("target", options.containsKey("base-url") ? "external" : options.getOrDefault("profiles", "loadtest"));
+            config.put("durationSeconds", String.valueOf(duration.toSeconds()));
+            config.put("peakRate", String.valueOf(peakRate));
+            config.put("seed", String.valueOf(seed));
+            config.put("canteens", String.valueOf(workload.canteenCount()));
+            config.put("dishes", String.valueOf(workload.dishCount()));
+            config.put("maxInFlight", String.valueOf(maxInFlight));
+
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            LunchRush rush = new LunchRush(workload, peakRate, duration, seed, maxInFlight);
+            rush.run();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Report report = Report.of(startedAt, config, seconds, rush.dropped(), recorder);
+            report.print(System.out);
+            Path file = report.write(Path.of(options.getOrDefault("report-dir", "reports")));
+            System.out.printf("%nReport written to %s%n", file);
+            if (options.containsKey("compare")) {
+                report.compareTo(Report.read(Path.of(options.get("compare"))), System.out);
+            }
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,114 @@
+package com.foodrating.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model lunch rush: requests arrive as a Poisson process whose rate follows the rush
+// (build-up ramping to the peak, the peak, a rating-heavy tail), independent of how fast the
+// server answers. Each arrival runs on its own virtual thread.
+public class LunchRush {
+
+    // Share of the run spent in each phase
+    private static final double BUILD_UP_END = 0.25;
+    private static final double PEAK_END = 0.75;
+    private static final double BUILD_UP_START_RATE = 0.2;
+    private static final double TAIL_RATE = 0.4;
+
+    private final Workload workload;
+    private final double peakRate;
+    private final Duration duration;
+    private final Random random;
+    private final Semaphore inFlight;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Map<Action.Phase, Integer> totalWeights = new EnumMap<>(Action.Phase.class);
+
+    public LunchRush(Workload workload, double peakRate, Duration duration, long seed, int maxInFlight) {
+        this.workload = workload;
+        this.peakRate = peakRate;
+        this.duration = duration;
+        this.random = new Random(seed);
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    // Arrivals the generator could not start because maxInFlight requests were still outstanding
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public void run() throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double next = start;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                double progress = (next - start) / duration.toNanos();
+                Action.Phase phase = phaseAt(progress);
+                // Exponential inter-arrival time for the current rate
+                next += -Math.log(1 - random.nextDouble()) / rateAt(progress) * 1e9;
+                long scheduledAt = (long) next;
+                if (scheduledAt >= end) {
+                    break;
+                }
+                Workload.Step step = workload.plan(pick(phase), random);
+
+                long wait = scheduledAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    dropped.incrementAndGet();
+                    continue;
+                }
+                executor.submit(() -> {
+                    try {
+                        workload.execute(step, scheduledAt);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            // Closing the executor waits for the requests still in flight (each bounded by its timeout)
+        }
+    }
+
+    static Action.Phase phaseAt(double progress) {
+        if (progress < BUILD_UP_END) {
+            return Action.Phase.BUILD_UP;
+        }
+        return progress < PEAK_END ? Action.Phase.PEAK : Action.Phase.TAIL;
+    }
+
+    // Requests per second at this point of the run
+    double rateAt(double progress) {
+        if (progress < BUILD_UP_END) {
+            double ramp = progress / BUILD_UP_END;
+            return peakRate * (BUILD_UP_START_RATE + (1 - BUILD_UP_START_RATE) * ramp);
+        }
+        return progress < PEAK_END ? peakRate : peakRate * TAIL_RATE;
+    }
+
+    private Action pick(Action.Phase phase) {
+        int total = totalWeights.computeIfAbsent(phase, p -> {
+            int sum = 0;
+            for (Action action : Action.values()) {
+                sum += action.weight(p);
+            }
+            return sum;
+        });
+        int roll = random.nextInt(total);
+        for (Action action : Action.values()) {
+            roll -= action.weight(phase);
+            if (roll < 0) {
+                return action;
+            }
+        }
+        throw new IllegalStateException("Weights changed while picking");
+    }
+}
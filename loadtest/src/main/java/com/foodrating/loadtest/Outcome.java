@@ -0,0 +1,25 @@
+package com.foodrating.loadtest;
+
+// How a request ended; only ERROR counts against the error rate
+public enum Outcome {
+    OK,
+    // 429 / 503: the server shed load as designed
+    REJECTED,
+    // 409 / 412: a concurrent edit won
+    CONFLICT,
+    // Any other status, a timeout or a connection failure
+    ERROR;
+
+    public static Outcome of(int status) {
+        if (status < 400) {
+            return OK;
+        }
+        if (status == 429 || status == 503) {
+            return REJECTED;
+        }
+        if (status == 409 || status == 412) {
+            return CONFLICT;
+        }
+        return ERROR;
+    }
+}
@@ -0,0 +1,134 @@
+package com.foodrating.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Result of one run. Written as JSON together with the settings that produced it, so two reports
+// are comparable exactly when their config blocks match.
+public record Report(Instant startedAt,
+                     Map<String, String> config,
+                     double durationSeconds,
+                     long droppedArrivals,
+                     Stats total,
+                     Map<String, Stats> actions) {
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .findAndRegisterModules()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public record Stats(long requests, double throughput, long ok, long rejected, long conflicts, long errors,
+                        double errorRate, double meanMs, double p50Ms, double p90Ms, double p99Ms, double p999Ms,
+                        double maxMs) {
+
+        static Stats of(long[] sorted, long ok, long rejected, long conflicts, long errors, double seconds) {
+            long requests = sorted.length;
+            double mean = 0;
+            for (long latency : sorted) {
+                mean += latency / 1e6 / Math.max(1, requests);
+            }
+            return new Stats(requests, requests / seconds, ok, rejected, conflicts, errors,
+                             requests == 0 ? 0 : (double) errors / requests, mean,
+                             percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                             percentile(sorted, 99.9), percentile(sorted, 100));
+        }
+
+        // Nearest-rank percentile in milliseconds
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+
+    public static Report of(Instant startedAt, Map<String, String> config, double seconds, long dropped, Recorder recorder) {
+        Map<String, Stats> actions = new LinkedHashMap<>();
+        long[] all = new long[0];
+        long ok = 0;
+        long rejected = 0;
+        long conflicts = 0;
+        long errors = 0;
+        for (Action action : Action.values()) {
+            Recorder.Samples samples = recorder.get(action);
+            long[] sorted = samples.sortedLatencies();
+            Stats stats = Stats.of(sorted, samples.count(Outcome.OK), samples.count(Outcome.REJECTED),
+                                   samples.count(Outcome.CONFLICT), samples.count(Outcome.ERROR), seconds);
+            actions.put(action.name(), stats);
+            all = concat(all, sorted);
+            ok += stats.ok();
+            rejected += stats.rejected();
+            conflicts += stats.conflicts();
+            errors += stats.errors();
+        }
+        Arrays.sort(all);
+        return new Report(startedAt, config, seconds, dropped, Stats.of(all, ok, rejected, conflicts, errors, seconds), actions);
+    }
+
+    public static Report read(Path path) throws IOException {
+        return JSON.readValue(path.toFile(), Report.class);
+    }
+
+    public Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("lunch-rush-" + startedAt.toString().replace(':', '-') + ".json");
+        JSON.writeValue(file.toFile(), this);
+        return file;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%n%-18s %9s %9s %8s %8s %8s %8s %8s %7s %7s%n",
+                   "action", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9", "max ms", "errors", "shed");
+        actions.forEach((name, stats) -> printRow(out, name, stats));
+        printRow(out, "TOTAL", total);
+        if (droppedArrivals > 0) {
+            out.printf("%d arrivals dropped by the generator (too many requests in flight)%n", droppedArrivals);
+        }
+    }
+
+    // Prints throughput and p99 against an earlier run; a warning if the two runs used different settings
+    public void compareTo(Report baseline, PrintStream out) {
+        if (!baseline.config().equals(config)) {
+            out.printf("%nWarning: baseline was run with different settings: %s%n", baseline.config());
+        }
+        out.printf("%n%-18s %12s %12s %12s %12s%n", "vs baseline", "req/s", "change", "p99 ms", "change");
+        actions.forEach((name, stats) -> {
+            Stats before = baseline.actions().get(name);
+            if (before != null) {
+                printDelta(out, name, stats, before);
+            }
+        });
+        printDelta(out, "TOTAL", total, baseline.total());
+    }
+
+    private static void printRow(PrintStream out, String name, Stats stats) {
+        out.printf("%-18s %9d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %6.2f%% %7d%n", name, stats.requests(),
+                   stats.throughput(), stats.p50Ms(), stats.p90Ms(), stats.p99Ms(), stats.p999Ms(), stats.maxMs(),
+                   stats.errorRate() * 100, stats.rejected());
+    }
+
+    private static void printDelta(PrintStream out, String name, Stats now, Stats before) {
+        out.printf("%-18s %12.1f %+11.1f%% %12.2f %+11.1f%%%n", name, now.throughput(),
+                   change(now.throughput(), before.throughput()), now.p99Ms(), change(now.p99Ms(), before.p99Ms()));
+    }
+
+    private static double change(double now, double before) {
+        return before == 0 ? 0 : (now - before) / before * 100;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] joined = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return joined;
+    }
+}
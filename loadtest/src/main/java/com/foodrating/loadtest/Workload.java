@@ -0,0 +1,235 @@
+package com.foodrating.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// The HTTP side of the lunch rush: learns the catalogue, tops it up to the requested size, and
+// turns planned steps into requests. Steps are planned from a seeded Random on one thread, so two
+// runs with the same seed send the same sequence of requests.
+public class Workload {
+
+    private static final String[] SEARCH_TERMS = {"noodles", "pizza", "juice", "chapathi", "burger", "samosa", "paneer", "nodles"};
+    private static final String[] CATEGORIES = {"Indian", "Chinese", "Italian", "American", "Healthy"};
+    private static final int USERS = 5_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String baseUrl;
+    private final Recorder recorder;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<Long> canteenIds = new ArrayList<>();
+    private final Map<Long, List<Long>> dishesByCanteen = new HashMap<>();
+    private final List<Long> dishIds = new ArrayList<>();
+
+    public Workload(String baseUrl, Recorder recorder) {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public int canteenCount() {
+        return canteenIds.size();
+    }
+
+    public int dishCount() {
+        return dishIds.size();
+    }
+
+    // Creates canteens and dishes over the API until the catalogue has at least the requested size
+    public void prepare(int canteens, int dishesPerCanteen) throws IOException, InterruptedException {
+        load();
+        for (int i = canteenIds.size(); i < canteens; i++) {
+            ObjectNode canteen = objectMapper.createObjectNode()
+                    .put("name", "Load Test Canteen " + i)
+                    .put("location", "Block " + (i % 12))
+                    .put("description", "Generated for the lunch-rush load test");
+            sendOrFail(post("/api/canteens", canteen));
+        }
+        load();
+        for (Long canteenId : canteenIds) {
+            List<Long> menu = dishesByCanteen.getOrDefault(canteenId, List.of());
+            for (int i = menu.size(); i < dishesPerCanteen; i++) {
+                ObjectNode dish = objectMapper.createObjectNode()
+                        .put("name", SEARCH_TERMS[i % 6] + " special " + i)
+                        .put("description", "Generated dish " + i + " of canteen " + canteenId)
+                        .put("category", CATEGORIES[i % CATEGORIES.length])
+                        .put("price", 20 + (i * 7) % 150)
+                        .put("rating", 1 + i % 5);
+                dish.putObject("canteen").put("id", canteenId);
+                sendOrFail(post("/api/dishes", dish));
+            }
+        }
+        load();
+    }
+
+    public Step plan(Action action, Random random) {
+        long canteenId = canteenIds.get(random.nextInt(canteenIds.size()));
+        List<Long> menu = dishesByCanteen.getOrDefault(canteenId, List.of());
+        long dishId = menu.isEmpty() ? dishIds.get(random.nextInt(dishIds.size())) : menu.get(random.nextInt(menu.size()));
+        String user = "lt-user-" + random.nextInt(USERS);
+        // Rating bursts: one diner rates 1-4 dishes of the canteen they ate at
+        int burst = action == Action.RATE_DISHES ? 1 + random.nextInt(4) : 1;
+        long[] rated = new long[burst];
+        int[] scores = new int[burst];
+        for (int i = 0; i < burst; i++) {
+            rated[i] = menu.isEmpty() ? dishId : menu.get(random.nextInt(menu.size()));
+            scores[i] = 1 + Math.min(4, (int) Math.abs(random.nextGaussian() + 3.5));
+        }
+        String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+        return new Step(action, canteenId, dishId, user, rated, scores, term);
+    }
+
+    // Latency is measured from the step's scheduled start, so time spent queued behind a slow
+    // server counts against it (no coordinated omission)
+    public void execute(Step step, long scheduledAt) {
+        try {
+            switch (step.action()) {
+                case LIST_CANTEENS -> timed(step.action(), scheduledAt, get("/api/canteens?size=20"));
+                case CANTEEN_MENU -> timed(step.action(), scheduledAt, get("/api/canteens/" + step.canteenId()));
+                case DISHES_BY_CANTEEN -> timed(step.action(), scheduledAt, get("/api/dishes/canteen/" + step.canteenId()));
+                case DISH_DETAIL -> timed(step.action(), scheduledAt, get("/api/dishes/" + step.dishId()));
+                case SEARCH -> timed(step.action(), scheduledAt,
+                                     get("/api/search?q=" + URLEncoder.encode(step.searchTerm(), StandardCharsets.UTF_8)));
+                case TOP_DISHES -> timed(step.action(), scheduledAt, get("/api/dishes/top?canteenId=" + step.canteenId() + "&window=day"));
+                case RATE_DISHES -> rate(step, scheduledAt);
+                case EDIT_DISH -> edit(step, scheduledAt);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            recorder.record(step.action(), System.nanoTime() - scheduledAt, Outcome.ERROR);
+        }
+    }
+
+    private void rate(Step step, long scheduledAt) throws IOException, InterruptedException {
+        long start = scheduledAt;
+        for (int i = 0; i < step.ratedDishIds().length; i++) {
+            ObjectNode rating = objectMapper.createObjectNode()
+                    .put("userId", step.userId())
+                    .put("score", step.scores()[i]);
+            timed(step.action(), start, post("/api/dishes/" + step.ratedDishIds()[i] + "/ratings", rating));
+            start = System.nanoTime();
+        }
+    }
+
+    // Admin price tweak: read the dish, then a conditional PUT with its ETag
+    private void edit(Step step, long scheduledAt) throws IOException, InterruptedException {
+        HttpResponse<String> current = send(get("/api/dishes/" + step.dishId()));
+        if (current.statusCode() != 200) {
+            recorder.record(step.action(), System.nanoTime() - scheduledAt, Outcome.of(current.statusCode()));
+            return;
+        }
+        JsonNode dish = objectMapper.readTree(current.body());
+        ObjectNode update = objectMapper.createObjectNode()
+                .put("name", dish.path("name").asText())
+                .put("description", dish.path("description").asText())
+                .put("category", dish.path("category").asText())
+                .put("price", dish.path("price").asDouble() + 1)
+                .put("rating", dish.path("rating").asInt(3));
+        update.set("availableDate", dish.path("availableDate"));
+        HttpRequest put = HttpRequest.newBuilder(uri("/api/dishes/" + step.dishId()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("If-Match", current.headers().firstValue("ETag").orElse("*"))
+                .PUT(HttpRequest.BodyPublishers.ofString(update.toString()))
+                .build();
+        timed(step.action(), scheduledAt, put);
+    }
+
+    private void timed(Action action, long start, HttpRequest request) throws IOException, InterruptedException {
+        Outcome outcome;
+        try {
+            outcome = Outcome.of(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+        } catch (IOException e) {
+            outcome = Outcome.ERROR;
+        }
+        recorder.record(action, System.nanoTime() - start, outcome);
+    }
+
+    // Pages through the canteen and dish listings to learn the current ids
+    public void load() throws IOException, InterruptedException {
+        canteenIds.clear();
+        dishesByCanteen.clear();
+        dishIds.clear();
+        for (JsonNode canteen : pages("/api/canteens?size=100")) {
+            canteenIds.add(canteen.path("id").asLong());
+        }
+        for (JsonNode dish : pages("/api/dishes?size=100")) {
+            long dishId = dish.path("id").asLong();
+            dishIds.add(dishId);
+            JsonNode canteen = dish.path("canteen");
+            if (!canteen.isMissingNode() && !canteen.isNull()) {
+                dishesByCanteen.computeIfAbsent(canteen.path("id").asLong(), id -> new ArrayList<>()).add(dishId);
+            }
+        }
+    }
+
+    private List<JsonNode> pages(String path) throws IOException, InterruptedException {
+        List<JsonNode> items = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = cursor == null ? path : path + "&cursor=" + cursor;
+            HttpResponse<String> response = send(get(url));
+            if (response.statusCode() != 200) {
+                throw new IOException("GET " + url + " returned " + response.statusCode());
+            }
+            JsonNode page = objectMapper.readTree(response.body());
+            page.path("items").forEach(items::add);
+            cursor = page.path("nextCursor").isTextual() ? page.path("nextCursor").asText() : null;
+        } while (cursor != null);
+        return items;
+    }
+
+    // Setup requests must all land, or the run would measure a smaller catalogue than configured
+    private void sendOrFail(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(request);
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(request.method() + " " + request.uri().getPath() + " returned " + response.statusCode()
+                                  + (response.statusCode() == 429 ? " (rate limited: run the backend with foodrating.rate-limit.enabled=false)" : "")
+                                  + ": " + response.body());
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, JsonNode body) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    public record Step(Action action, long canteenId, long dishId, String userId,
+                       long[] ratedDishIds, int[] scores, String searchTerm) {
+    }
+}